@@ -1,7 +1,7 @@
 import { Component, OnInit, ViewChild, ElementRef } from '@angular/core';
 import { CommonModule } from '@angular/common';
 import { FormsModule } from '@angular/forms';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Router } from '@angular/router';
 import { finalize } from 'rxjs/operators';
 
@@ -51,8 +51,13 @@ export class AdminComponent implements OnInit {
   @ViewChild('profileFileInput') profileFileInput!: ElementRef<HTMLInputElement>;
 
   users: User[] = [];
-  filteredUsers: User[] = [];
   searchEmail = '';
+  // Grid pages come from the server; a search replaces the page with the top matches
+  usersPage = 0;
+  usersPageSize = 50;
+  usersTotal = 0;
+  searchingUsers = false;
+  get usersPageCount() { return Math.max(1, Math.ceil(this.usersTotal / this.usersPageSize)); }
 
   newUser: Partial<User> = { name: '', email: '', role: 'EMPLOYEE', salary: 0, status: 'ACTIVE' };
   newUserFile: File | null = null;
@@ -148,27 +153,61 @@ export class AdminComponent implements OnInit {
 
   /* ================= USERS ================= */
   loadUsers() {
+    if (this.searchingUsers) {
+      this.searchByEmail();
+      return;
+    }
+
+    const params = new HttpParams()
+      .set('page', this.usersPage)
+      .set('size', this.usersPageSize);
+
     this.isLoading = true;
-    this.http.get<User[]>(`${this.backendUrl}/api/admin/view-users`)
+    this.http.get<User[]>(`${this.backendUrl}/api/admin/view-users`, { params, observe: 'response' })
       .pipe(finalize(() => this.isLoading = false))
       .subscribe({
-        next: users => {
-          this.users = users.map(u => ({
-            ...u,
-            profilePicUrl: u.profilePic
-              ? `${this.backendUrl}${u.profilePic}`
-              : 'assets/default-profile.png'
-          }));
-          this.filteredUsers = [...this.users];
+        next: res => {
+          this.users = res.body ?? [];
+          this.usersTotal = Number(res.headers.get('X-Total-Count') ?? this.users.length);
+          // A delete can empty the last page
+          if (!this.users.length && this.usersPage > 0) {
+            this.usersPage = this.usersPageCount - 1;
+            this.loadUsers();
+          }
         },
         error: () => this.showToast('Failed to load users', 'error')
       });
   }
 
+  goToUsersPage(page: number) {
+    if (page < 0 || page >= this.usersPageCount || this.isLoading) return;
+    this.usersPage = page;
+    this.loadUsers();
+  }
+
   searchByEmail() {
-    this.filteredUsers = this.searchEmail
-      ? this.users.filter(u => u.email.toLowerCase().includes(this.searchEmail.toLowerCase()))
-      : [...this.users];
+    const q = this.searchEmail.trim();
+    if (!q) {
+      this.clearUserSearch();
+      return;
+    }
+
+    const params = new HttpParams().set('q', q).set('limit', 50);
+
+    this.searchingUsers = true;
+    this.isLoading = true;
+    this.http.get<User[]>(`${this.backendUrl}/api/admin/users/search`, { params })
+      .pipe(finalize(() => this.isLoading = false))
+      .subscribe({
+        next: users => this.users = users,
+        error: () => this.showToast('Search failed', 'error')
+      });
+  }
+
+  clearUserSearch() {
+    this.searchEmail = '';
+    this.searchingUsers = false;
+    this.loadUsers();
   }
 
   toggleStatus(user: User) {
@@ -333,8 +372,21 @@ export class AdminComponent implements OnInit {
   }
 
   openProfileModal(user: User) {
-    this.selectedProfile = user;
+    this.selectedProfile = { ...user, profilePicUrl: 'assets/default-profile.png' };
     this.profileModalOpen = true;
+
+    // The grid rows don't carry the picture, so fetch it for the one profile being viewed
+    this.http.get<User>(`${this.backendUrl}/api/users/${user.id}`).subscribe({
+      next: full => {
+        if (this.selectedProfile?.id !== user.id) return;
+        this.selectedProfile = {
+          ...this.selectedProfile,
+          profilePicUrl: full.profilePic
+            ? `${this.backendUrl}${full.profilePic}`
+            : 'assets/default-profile.png'
+        };
+      }
+    });
   }
 
   closeProfileModal() {
@@ -35,8 +35,12 @@ export class HrComponent implements OnInit {
   hrId: number | null = null;
   role = 'HR';
 
+  // The list shows one status at a time, a page at a time; 'Load more' fetches the next page
+  leaveStatusFilter: LeaveRequest['status'] | 'ALL' = 'PENDING';
+  leaveNextCursor: string | null = null;
+
   toastMessages: string[] = [];
-  lastLeaveStatuses: { [id: number]: string } = {};
+  private seenPendingIds = new Set<number>();
 
   showAttendanceModal = false;
   isLoading = false;
@@ -59,8 +63,8 @@ export class HrComponent implements OnInit {
   ngOnInit(): void {
     this.loadProfile();
     this.loadEmployees();
-    this.loadLeaves(true);
-    setInterval(() => this.loadLeaves(true), 15000);
+    this.checkPendingLeaves();
+    setInterval(() => this.checkPendingLeaves(), 15000);
   }
 
   // --- Menu ---
@@ -92,32 +96,42 @@ export class HrComponent implements OnInit {
   }
 
   // --- Leaves ---
-  loadLeaves(showPendingToast: boolean = false): void {
-    this.leaveService.getAllLeaves().subscribe((res: LeaveRequest[]) => {
-      if (showPendingToast) {
-        const pendingCount = res.filter(l => l.status === 'PENDING').length;
-        if (pendingCount > 0 && Object.keys(this.lastLeaveStatuses).length === 0) {
-          this.showToast(`You have ${pendingCount} pending leave request(s).`);
-        }
-      }
+  loadLeaves(): void {
+    this.leaveNextCursor = null;
+    this.fetchLeavePage(false);
+  }
 
-      res.forEach(l => {
-        const prevStatus = this.lastLeaveStatuses[l.id!];
-        if (prevStatus && prevStatus !== l.status && l.status) {
-          const start = this.datePipe.transform(l.startDate, 'mediumDate');
-          const end = this.datePipe.transform(l.endDate, 'mediumDate');
-          if (start && end) {
-            this.showToast(
-              start === end
-                ? `Leave on ${start} was ${l.status}`
-                : `Leave from ${start} to ${end} was ${l.status}`
-            );
-          }
-        }
-        this.lastLeaveStatuses[l.id!] = l.status || 'PENDING';
+  loadMoreLeaves(): void {
+    if (this.leaveNextCursor) this.fetchLeavePage(true);
+  }
+
+  private fetchLeavePage(append: boolean): void {
+    const status = this.leaveStatusFilter === 'ALL' ? undefined : this.leaveStatusFilter;
+    this.isLoading = true;
+    this.leaveService.getLeavePage(status, this.leaveNextCursor)
+      .pipe(finalize(() => this.isLoading = false))
+      .subscribe(page => {
+        const rows = page.items.map(l => ({ ...l, updating: false }));
+        this.leaveRequests = append ? this.leaveRequests.concat(rows) : rows;
+        this.leaveNextCursor = page.nextCursor;
       });
+  }
 
-      this.leaveRequests = res.map(l => ({ ...l, updating: false }));
+  // Polls only the newest page of pending requests and announces the ones not seen before
+  checkPendingLeaves(): void {
+    const firstCheck = this.seenPendingIds.size === 0;
+    this.leaveService.getLeavePage('PENDING').subscribe(page => {
+      const fresh = page.items.filter(l => !this.seenPendingIds.has(l.id));
+      fresh.forEach(l => this.seenPendingIds.add(l.id));
+      if (!fresh.length) return;
+
+      const more = page.nextCursor ? '+' : '';
+      this.showToast(firstCheck
+        ? `You have ${page.items.length}${more} pending leave request(s).`
+        : `${fresh.length} new pending leave request(s).`);
+      if (this.currentSection === 'leaveRequests' && this.leaveStatusFilter === 'PENDING' && !this.leaveNextCursor) {
+        this.loadLeaves();
+      }
     });
   }
 
@@ -135,7 +149,6 @@ export class HrComponent implements OnInit {
       }))
       .subscribe(res => {
         leave.status = res.status;
-        this.lastLeaveStatuses[leaveId] = res.status || 'PENDING';
 
         const start = this.datePipe.transform(leave.startDate, 'mediumDate');
         const end = this.datePipe.transform(leave.endDate, 'mediumDate');
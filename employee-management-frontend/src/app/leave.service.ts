@@ -1,6 +1,7 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
 
 export interface LeaveRequest {
   id: number;
@@ -11,6 +12,11 @@ export interface LeaveRequest {
   status: 'PENDING' | 'APPROVED' | 'REJECTED';
 }
 
+export interface LeavePage {
+  items: LeaveRequest[];
+  nextCursor: string | null;
+}
+
 @Injectable({
   providedIn: 'root'
 })
@@ -19,9 +25,18 @@ export class LeaveService {
 
   constructor(private http: HttpClient) {}
 
-  // Fetch all leaves (HR view)
-  getAllLeaves(): Observable<LeaveRequest[]> {
-    return this.http.get<LeaveRequest[]>(this.apiUrl);
+  // Fetch one page of leaves (HR view), newest first; pass nextCursor back as `after` for the next page
+  getLeavePage(status?: LeaveRequest['status'], after?: string | null): Observable<LeavePage> {
+    let params = new HttpParams().set('sort', 'desc');
+    if (status) {
+      params = params.set('status', status);
+    }
+    if (after) {
+      params = params.set('after', after);
+    }
+    return this.http.get<LeaveRequest[]>(this.apiUrl, { params, observe: 'response' }).pipe(
+      map(res => ({ items: res.body ?? [], nextCursor: res.headers.get('X-Next-Cursor') }))
+    );
   }
 
   // Update leave status (HR action)
@@ -0,0 +1,44 @@
+package com.hrapp.employee_management.config;
+
+import com.hrapp.employee_management.repository.AttendanceRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attendance ids come from two sequences: {@code attendance_seq} (pooled, step 50) for rows saved through JPA,
+ * and {@code attendance_native_seq} (step 1, starting at {@link AttendanceRepository#NATIVE_ID_BASE}) for the
+ * single-statement inserts. Tables created before either existed hold ids from the old generators, so each
+ * sequence is moved past the largest id in its own range once the schema is in place.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class AttendanceSequenceInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequence() {
+        long base = AttendanceRepository.NATIVE_ID_BASE;
+        Long pooled = jdbcTemplate.queryForObject(
+                "SELECT setval('attendance_seq', GREATEST(" +
+                        "(SELECT COALESCE(MAX(id), 0) FROM attendance WHERE id < ?), " +
+                        "(SELECT last_value FROM attendance_seq)))",
+                Long.class, base);
+
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS attendance_native_seq INCREMENT BY 1 START WITH " + base);
+        Long nativeValue = jdbcTemplate.queryForObject(
+                "SELECT setval('attendance_native_seq', GREATEST(" +
+                        "(SELECT COALESCE(MAX(id), ?) FROM attendance WHERE id >= ?), " +
+                        "(SELECT last_value FROM attendance_native_seq)))",
+                Long.class, base, base);
+        log.info("attendance_seq aligned at {}, attendance_native_seq at {}", pooled, nativeValue);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hrapp.employee_management.config;
+
+import com.hrapp.employee_management.service.LeaveLedgerService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the leave ledger from requests made before it existed, once per database, before the application
+ * starts serving leave decisions.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class LeaveLedgerInitializer {
+
+    private final LeaveLedgerService ledgerService;
+
+    public LeaveLedgerInitializer(LeaveLedgerService ledgerService) {
+        this.ledgerService = ledgerService;
+    }
+
+    @PostConstruct
+    public void backfill() {
+        ledgerService.backfillFromHistory();
+    }
+}
@@ -3,12 +3,22 @@ package com.hrapp.employee_management.controller;
 import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.model.UserStatus;
 import com.hrapp.employee_management.repository.AttendanceRepository;
+import com.hrapp.employee_management.repository.UserGridView;
 import com.hrapp.employee_management.repository.UserRepository;
+import com.hrapp.employee_management.security.AuthRateLimiter;
+import com.hrapp.employee_management.security.TokenRevocationRegistry;
+import com.hrapp.employee_management.service.CustomUserDetailsService;
+import com.hrapp.employee_management.service.EmailOutboxService;
 import com.hrapp.employee_management.service.EmailService;
+import com.hrapp.employee_management.service.HrDigestService;
 import com.hrapp.employee_management.service.UserService;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -44,6 +54,21 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenRevocationRegistry revocations;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
+    @Autowired
+    private EmailOutboxService emailOutbox;
+
+    @Autowired
+    private HrDigestService hrDigestService;
+
     @PostMapping("/create-user")
     public ResponseEntity<?> createUser(
             @RequestParam("name") String name,
@@ -98,6 +123,9 @@ public class AdminController {
             @RequestParam(value = "profilePicture", required = false) MultipartFile profilePicture
     ) {
         return userRepository.findById(id).map(user -> {
+            String previousEmail = user.getEmail();
+            String previousRole = user.getRole();
+            UserStatus previousStatus = user.getStatus();
             user.setName(name);
             user.setEmail(email);
             user.setRole(role);
@@ -130,6 +158,13 @@ public class AdminController {
             }
 
             userRepository.save(user);
+            userDetailsService.evict(previousEmail);
+            userDetailsService.evict(user.getEmail());
+            // Tokens carry email and role, so any change to them (or to status) invalidates issued tokens
+            if (!previousEmail.equals(user.getEmail()) || !previousRole.equalsIgnoreCase(user.getRole())
+                    || previousStatus != user.getStatus()) {
+                revocations.revoke(user.getId());
+            }
             return ResponseEntity.ok(user);
         }).orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found")));
     }
@@ -165,34 +200,98 @@ public class AdminController {
         user.setStatus(user.getStatus() == UserStatus.ACTIVE ? UserStatus.DEACTIVATED : UserStatus.ACTIVE);
 
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
+        revocations.revoke(user.getId());
         return ResponseEntity.ok(Map.of(
                 "message", "User status updated",
                 "newStatus", user.getStatus()
         ));
     }
 
+    private static final int DEFAULT_USER_PAGE_SIZE = 50;
+    private static final int MAX_USER_PAGE_SIZE = 500;
+    private static final Set<String> USER_SORT_FIELDS = Set.of("id", "name", "email", "role", "status", "salary");
+
+    // Paged and projected: the body is one page of grid rows, the total is in X-Total-Count
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/view-users")
     public ResponseEntity<?> viewAllUsers(
             @RequestParam(required = false) String role,
-            @RequestParam(required = false) String status
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_USER_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "asc") String direction
     ) {
-        List<User> users;
+        if (page < 0 || size < 1 || size > MAX_USER_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    "'page' must be >= 0 and 'size' between 1 and " + MAX_USER_PAGE_SIZE));
+        }
+        if (!USER_SORT_FIELDS.contains(sort)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid sort field: " + sort));
+        }
+
+        Page<UserGridView> users;
         try {
+            Sort order = Sort.by(Sort.Direction.fromString(direction), sort).and(Sort.by("id"));
+            Pageable pageable = PageRequest.of(page, size, order);
             if (role != null && status != null) {
-                users = userRepository.findByRoleAndStatus(role.toUpperCase(), UserStatus.valueOf(status.toUpperCase()));
+                users = userRepository.findGridByRoleAndStatus(role.toUpperCase(), UserStatus.valueOf(status.toUpperCase()), pageable);
             } else if (role != null) {
-                users = userRepository.findByRole(role.toUpperCase());
+                users = userRepository.findGridByRole(role.toUpperCase(), pageable);
             } else if (status != null) {
-                users = userRepository.findByStatus(UserStatus.valueOf(status.toUpperCase()));
+                users = userRepository.findGridByStatus(UserStatus.valueOf(status.toUpperCase()), pageable);
             } else {
-                users = userRepository.findAll();
+                users = userRepository.findGridBy(pageable);
             }
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Invalid status or role parameter"));
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid status, role or direction parameter"));
         }
 
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(users.getTotalElements()))
+                .body(users.getContent());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/principals")
+    public ResponseEntity<?> principalCacheStats() {
+        return ResponseEntity.ok(userDetailsService.getCacheStats());
+    }
+
+    // Allowed / rejected counts for the login and password-reset throttle
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/rate-limit/auth")
+    public ResponseEntity<?> authRateLimitStats() {
+        return ResponseEntity.ok(authRateLimiter.getStats());
+    }
+
+    // Queue depth by status plus transport counters
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/mail/outbox")
+    public ResponseEntity<?> emailOutboxStats() {
+        return ResponseEntity.ok(emailOutbox.getStats());
+    }
+
+    // Runs the HR digest now; only what happened since the last digest is reported
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/notifications/hr-digest")
+    public ResponseEntity<?> sendHrDigest() {
+        return ResponseEntity.ok(Map.of("recipients", hrDigestService.sendDigest()));
+    }
+
+    // Top-k matches on name/email for the admin search box
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/users/search")
+    public ResponseEntity<?> searchUsers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        try {
+            return ResponseEntity.ok(userService.searchUsers(query, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     private boolean isCurrentUserAdmin() {
@@ -1,49 +1,90 @@
 package com.hrapp.employee_management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.hrapp.employee_management.dto.AttendanceDay;
 import com.hrapp.employee_management.model.Attendance;
+import com.hrapp.employee_management.model.AttendanceMonthlySummary;
 import com.hrapp.employee_management.model.AttendanceStatus;
+import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.security.CustomUserDetails;
+import com.hrapp.employee_management.service.AttendanceDayCloseService;
 import com.hrapp.employee_management.service.AttendanceService;
+import com.hrapp.employee_management.service.AttendanceSummaryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/attendance")
 public class AttendanceController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SHAPE_FLAT = "flat";
+    private static final String SHAPE_GROUPED = "grouped";
+
     private final AttendanceService attendanceService;
+    private final AttendanceSummaryService summaryService;
+    private final AttendanceDayCloseService dayCloseService;
+    private final ObjectWriter rowWriter;
 
-    public AttendanceController(AttendanceService attendanceService) {
+    public AttendanceController(AttendanceService attendanceService,
+                                AttendanceSummaryService summaryService,
+                                AttendanceDayCloseService dayCloseService,
+                                ObjectMapper objectMapper) {
         this.attendanceService = attendanceService;
+        this.summaryService = summaryService;
+        this.dayCloseService = dayCloseService;
+        this.rowWriter = objectMapper.writer();
     }
 
     // ---------------- Employee Endpoints ----------------
+    // Same shape as the /me rows; the principal may be built from token claims alone, so only its id and
+    // name are echoed back, never the rest of the user
     @PostMapping("/mark")
     @PreAuthorize("hasRole('EMPLOYEE')")
-    public ResponseEntity<Attendance> markAttendance(
+    public ResponseEntity<AttendanceDay> markAttendance(
             Authentication authentication,
             @RequestBody Map<String, String> request
     ) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        Long employeeId = userDetails.getUser().getId();
         AttendanceStatus status = AttendanceStatus.valueOf(request.get("status").toUpperCase());
 
-        Attendance attendance = attendanceService.markAttendance(employeeId, LocalDate.now(), status);
-        return ResponseEntity.ok(attendance);
+        User employee = userDetails.getUser();
+        Attendance attendance = attendanceService.markAttendance(employee, LocalDate.now(), status);
+        return ResponseEntity.ok(new AttendanceDay(attendance.getDate(), attendance.getStatus(),
+                employee.getId(), employee.getName(), null));
     }
 
     @GetMapping("/me")
     @PreAuthorize("hasRole('EMPLOYEE')")
-    public ResponseEntity<List<Map<String, Object>>> getMyAttendance(Authentication authentication) {
+    public ResponseEntity<List<AttendanceDay>> getMyAttendance(
+            Authentication authentication,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(defaultValue = "" + AttendanceService.DEFAULT_PAGE_DAYS) int limit
+    ) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         Long employeeId = userDetails.getUser().getId();
 
-        return ResponseEntity.ok(attendanceService.getAttendanceByEmployee(employeeId));
+        return pageResponse(employeeId, from, to, month, after, limit);
     }
 
     // ---------------- Admin & HR Endpoints ----------------
@@ -59,15 +100,136 @@ public class AttendanceController {
         return ResponseEntity.ok(attendance);
     }
 
+    @PostMapping("/override/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AttendanceService.OverrideResult>> overrideAttendanceBatch(
+            @RequestBody List<Map<String, String>> request
+    ) {
+        List<AttendanceService.OverrideResult> results = new ArrayList<>();
+        List<AttendanceService.AttendanceOverride> overrides = new ArrayList<>();
+
+        for (int i = 0; i < request.size(); i++) {
+            Map<String, String> row = request.get(i);
+            try {
+                overrides.add(new AttendanceService.AttendanceOverride(
+                        i,
+                        Long.parseLong(row.get("employeeId")),
+                        LocalDate.parse(row.get("date")),
+                        AttendanceStatus.valueOf(row.get("status").toUpperCase()),
+                        row.getOrDefault("reason", "Updated by Admin")
+                ));
+            } catch (RuntimeException e) {
+                results.add(AttendanceService.OverrideResult.failed(i, null, null, "Invalid row: " + e.getMessage()));
+            }
+        }
+
+        results.addAll(attendanceService.overrideAttendanceBatch(overrides));
+        results.sort(Comparator.comparingInt(AttendanceService.OverrideResult::index));
+        return ResponseEntity.ok(results);
+    }
+
+    // Backfill for nights the scheduled day close did not run; defaults to yesterday
+    @PostMapping("/close")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> closeDays(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        if (to == null) to = LocalDate.now().minusDays(1);
+        if (from == null) from = to;
+        int rows = dayCloseService.closeDays(from, to);
+        return ResponseEntity.ok(Map.of("message", "Attendance days closed", "rows", rows));
+    }
+
+    // Per-employee PRESENT/ABSENT/LEAVE counts for one month, read from the summary table only
+    @GetMapping("/summary")
+    @PreAuthorize("hasAnyRole('HR','ADMIN')")
+    public ResponseEntity<List<AttendanceMonthlySummary>> getMonthlySummary(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month
+    ) {
+        return ResponseEntity.ok(summaryService.getMonthlySummary(month != null ? month : YearMonth.now()));
+    }
+
+    @PostMapping("/summary/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> rebuildMonthlySummary() {
+        int rows = summaryService.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Attendance summary rebuilt", "rows", rows));
+    }
+
     @GetMapping("/{employeeId}")
     @PreAuthorize("hasAnyRole('HR','ADMIN')")
-    public ResponseEntity<List<Map<String, Object>>> getAttendanceByEmployee(@PathVariable Long employeeId) {
-        return ResponseEntity.ok(attendanceService.getAttendanceByEmployee(employeeId));
+    public ResponseEntity<List<AttendanceDay>> getAttendanceByEmployee(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate after,
+            @RequestParam(defaultValue = "" + AttendanceService.DEFAULT_PAGE_DAYS) int limit
+    ) {
+        return pageResponse(employeeId, from, to, month, after, limit);
     }
 
+    // shape=grouped returns one entry per employee with a compact day-status array
     @GetMapping("/all")
     @PreAuthorize("hasAnyRole('HR','ADMIN')")
-    public ResponseEntity<List<Map<String, Object>>> getAllAttendance() {
+    public ResponseEntity<?> getAllAttendance(@RequestParam(defaultValue = SHAPE_FLAT) String shape) {
+        if (isGrouped(shape)) {
+            return ResponseEntity.ok(attendanceService.getAllAttendanceGrouped());
+        }
         return ResponseEntity.ok(attendanceService.getAllAttendance());
     }
+
+    // Selected with "Accept: application/x-ndjson"; one JSON object per line, written as it is produced
+    @GetMapping(value = "/all", produces = APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('HR','ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllAttendance(
+            @RequestParam(defaultValue = SHAPE_FLAT) String shape
+    ) {
+        boolean grouped = isGrouped(shape);
+        StreamingResponseBody body = out -> {
+            Consumer<Object> writeLine = row -> {
+                try {
+                    out.write(rowWriter.writeValueAsBytes(row));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+            if (grouped) {
+                attendanceService.streamAllAttendanceGrouped(writeLine::accept);
+            } else {
+                attendanceService.streamAllAttendance(writeLine::accept);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
+    private static boolean isGrouped(String shape) {
+        if (SHAPE_GROUPED.equalsIgnoreCase(shape)) return true;
+        if (SHAPE_FLAT.equalsIgnoreCase(shape)) return false;
+        throw new IllegalArgumentException("Invalid shape: use 'flat' or 'grouped'.");
+    }
+
+    // The body stays a plain list; the keyset cursor for the next page travels in a header
+    private ResponseEntity<List<AttendanceDay>> pageResponse(Long employeeId, LocalDate from, LocalDate to,
+                                                             YearMonth month, LocalDate after, int limit) {
+        if (month != null) {
+            if (from != null || to != null) {
+                throw new IllegalArgumentException("Use either 'month' or 'from'/'to', not both.");
+            }
+            from = month.atDay(1);
+            to = month.atEndOfMonth();
+        }
+
+        AttendanceService.AttendancePage page =
+                attendanceService.getAttendanceByEmployee(employeeId, from, to, after, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor().toString());
+        }
+        return response.body(page.items());
+    }
 }
@@ -74,7 +74,7 @@ public class AuthController {
         User user = authService.getUserByEmail(userDetails.getUsername());
         List<String> roles = List.of(user.getRole());
 
-        String accessToken = jwtUtils.generateAccessToken(user.getEmail(), roles);
+        String accessToken = jwtUtils.generateAccessToken(user.getId(), user.getEmail(), user.getName(), roles);
         String refreshToken = jwtUtils.generateRefreshToken(user.getEmail());
 
         authService.addRefreshTokenCookie(response, refreshToken);
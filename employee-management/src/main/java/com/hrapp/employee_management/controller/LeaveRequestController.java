@@ -1,14 +1,22 @@
 package com.hrapp.employee_management.controller;
 
+import com.hrapp.employee_management.dto.LeaveDecisionRequest;
+import com.hrapp.employee_management.model.LeaveBalance;
+import com.hrapp.employee_management.model.LeaveLedgerEntry;
 import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.model.LeaveType;
 import com.hrapp.employee_management.model.User;
+import com.hrapp.employee_management.service.LeaveLedgerService;
 import com.hrapp.employee_management.service.LeaveRequestService;
+import com.hrapp.employee_management.service.TeamCalendarService;
 import com.hrapp.employee_management.service.UserService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -17,11 +25,20 @@ import java.util.Map;
 @CrossOrigin(origins = "*") // Adjust in production
 public class LeaveRequestController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final LeaveRequestService leaveRequestService;
+    private final LeaveLedgerService ledgerService;
+    private final TeamCalendarService teamCalendarService;
     private final UserService userService;
 
-    public LeaveRequestController(LeaveRequestService leaveRequestService, UserService userService) {
+    public LeaveRequestController(LeaveRequestService leaveRequestService,
+                                  LeaveLedgerService ledgerService,
+                                  TeamCalendarService teamCalendarService,
+                                  UserService userService) {
         this.leaveRequestService = leaveRequestService;
+        this.ledgerService = ledgerService;
+        this.teamCalendarService = teamCalendarService;
         this.userService = userService;
     }
 
@@ -67,27 +84,98 @@ public class LeaveRequestController {
         }
     }
 
+    @GetMapping("/balance")
+    @PreAuthorize("hasRole('EMPLOYEE')")
+    public ResponseEntity<List<LeaveBalance>> getMyBalance(Authentication authentication) {
+        User employee = userService.findByEmail(authentication.getName());
+        return ResponseEntity.ok(ledgerService.getBalances(employee.getId()));
+    }
+
     // ------------------ HR / ADMIN ------------------
 
+    // Per-day headcount and names of people off; defaults to the next 30 days
+    @GetMapping("/calendar")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<?> getTeamCalendar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includePending
+    ) {
+        if (from == null) from = LocalDate.now();
+        if (to == null) to = from.plusDays(30);
+        try {
+            return ResponseEntity.ok(teamCalendarService.getCalendar(from, to, includePending));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/balance/{employeeId}")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<List<LeaveBalance>> getBalance(@PathVariable Long employeeId) {
+        return ResponseEntity.ok(ledgerService.getBalances(employeeId));
+    }
+
+    @GetMapping("/ledger/{employeeId}")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<List<LeaveLedgerEntry>> getLedger(@PathVariable Long employeeId) {
+        return ResponseEntity.ok(ledgerService.getLedger(employeeId));
+    }
+
+    // Manual credit or debit, e.g. opening balances or carry-over; days may be negative
+    @PostMapping("/ledger/adjust")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<?> adjustBalance(@RequestBody Map<String, String> body) {
+        try {
+            Long employeeId = Long.parseLong(body.get("employeeId"));
+            LeaveType leaveType = LeaveType.valueOf(body.getOrDefault("leaveType", "ANNUAL").toUpperCase());
+            int days = Integer.parseInt(body.get("days"));
+            String note = body.getOrDefault("note", "Adjusted by HR");
+
+            LeaveLedgerEntry entry = ledgerService.adjust(employeeId, leaveType, days, note);
+            return ResponseEntity.ok(Map.of(
+                    "message", "Leave balance adjusted",
+                    "entry", entry
+            ));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid adjustment: " + e.getMessage()));
+        }
+    }
+
+    // Filters and ordering run in the database, newest first by default; the cursor for the next page is returned in X-Next-Cursor
     @GetMapping
     @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
-    public ResponseEntity<?> getAllLeaves(@RequestParam(required = false) String status) {
+    public ResponseEntity<?> getAllLeaves(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + LeaveRequestService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "desc") String sort
+    ) {
+        LeaveRequest.LeaveStatus enumStatus = null;
+        if (status != null) {
+            try {
+                enumStatus = LeaveRequest.LeaveStatus.valueOf(status.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", "Invalid status value"));
+            }
+        }
+        if (!"asc".equalsIgnoreCase(sort) && !"desc".equalsIgnoreCase(sort)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid sort value: use 'asc' or 'desc'"));
+        }
+
         try {
-            List<LeaveRequest> leaves;
-            if (status != null) {
-                LeaveRequest.LeaveStatus enumStatus;
-                try {
-                    enumStatus = LeaveRequest.LeaveStatus.valueOf(status.toUpperCase());
-                } catch (IllegalArgumentException e) {
-                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid status value"));
-                }
-                leaves = leaveRequestService.getAllLeaves().stream()
-                        .filter(l -> l.getStatus() == enumStatus)
-                        .toList();
-            } else {
-                leaves = leaveRequestService.getAllLeaves();
+            LeaveRequestService.LeavePage page = leaveRequestService.searchLeaves(
+                    enumStatus, employeeId, from, to, after, limit, "desc".equalsIgnoreCase(sort));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.nextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.nextCursor());
             }
-            return ResponseEntity.ok(leaves);
+            return response.body(page.items());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of(
                     "error", "Failed to fetch leave requests",
@@ -121,4 +209,26 @@ public class LeaveRequestController {
                 )))
                 .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Leave request not found")));
     }
+
+    // One UPDATE for the whole list; the response reports the outcome for every id
+    @PutMapping("/status")
+    @PreAuthorize("hasRole('HR') or hasRole('ADMIN')")
+    public ResponseEntity<?> decideLeaves(@RequestBody LeaveDecisionRequest body) {
+        if (body.ids() == null || body.status() == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Missing ids or status in request body"));
+        }
+
+        LeaveRequest.LeaveStatus enumStatus;
+        try {
+            enumStatus = LeaveRequest.LeaveStatus.valueOf(body.status().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid status value"));
+        }
+
+        try {
+            return ResponseEntity.ok(leaveRequestService.decideLeaves(body.ids(), enumStatus));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.hrapp.employee_management.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hrapp.employee_management.model.AttendanceStatus;
+
+import java.time.LocalDate;
+
+// Employee fields are left out when the employee no longer exists, as the map-based rows did
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AttendanceDay(
+        LocalDate date,
+        AttendanceStatus status,
+        Long employeeId,
+        String employeeName,
+        String employeeEmail
+) {}
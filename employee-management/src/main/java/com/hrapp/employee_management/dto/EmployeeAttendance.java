@@ -0,0 +1,17 @@
+package com.hrapp.employee_management.dto;
+
+import com.hrapp.employee_management.model.AttendanceStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Grouped attendance shape: employee metadata once, followed by one status per day.
+ * {@code days[i]} is the status on {@code from.plusDays(i)}.
+ */
+public record EmployeeAttendance(
+        Long employeeId,
+        String employeeName,
+        String employeeEmail,
+        LocalDate from,
+        AttendanceStatus[] days
+) {}
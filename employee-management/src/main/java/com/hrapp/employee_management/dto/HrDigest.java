@@ -0,0 +1,25 @@
+package com.hrapp.employee_management.dto;
+
+import com.hrapp.employee_management.model.LeaveType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/** What happened in (from, to]: new pending leave by type, open pending total and attendance anomalies. */
+public record HrDigest(LocalDateTime from,
+                       LocalDateTime to,
+                       Map<LeaveType, Long> newPendingByType,
+                       long openPending,
+                       long absent,
+                       long notMarked,
+                       long employeesWithAnomalies) {
+
+    public long newPending() {
+        return newPendingByType.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Nothing new in the window; open pending requests alone were already reported
+    public boolean isEmpty() {
+        return newPending() == 0 && absent == 0 && notMarked == 0;
+    }
+}
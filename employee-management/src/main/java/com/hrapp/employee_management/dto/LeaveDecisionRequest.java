@@ -0,0 +1,5 @@
+package com.hrapp.employee_management.dto;
+
+import java.util.List;
+
+public record LeaveDecisionRequest(List<Long> ids, String status) {}
@@ -0,0 +1,19 @@
+package com.hrapp.employee_management.dto;
+
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.model.LeaveType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Who is off in [from, to]. {@code counts[i]} is the headcount on {@code from + i}; {@code segments} are the
+ * maximal runs of days with the same people off, so names are listed once per run rather than once per day.
+ */
+public record TeamCalendar(LocalDate from, LocalDate to, int[] counts, List<Segment> segments) {
+
+    public record Segment(LocalDate from, LocalDate to, List<Absence> absent) {}
+
+    public record Absence(Long employeeId, String employeeName, Long leaveId,
+                          LeaveType leaveType, LeaveRequest.LeaveStatus status) {}
+}
@@ -0,0 +1,7 @@
+package com.hrapp.employee_management.exception;
+
+public class AttendanceAlreadyMarkedException extends RuntimeException {
+    public AttendanceAlreadyMarkedException(String message) {
+        super(message);
+    }
+}
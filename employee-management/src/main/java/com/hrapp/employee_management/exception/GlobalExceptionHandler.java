@@ -37,6 +37,16 @@ public class GlobalExceptionHandler {
         return buildResponse(ex, HttpStatus.CONFLICT, "Duplicate Email", request);
     }
 
+    @ExceptionHandler(AttendanceAlreadyMarkedException.class)
+    public ResponseEntity<ErrorResponse> handleAttendanceAlreadyMarked(AttendanceAlreadyMarkedException ex, WebRequest request) {
+        return buildResponse(ex, HttpStatus.CONFLICT, "Attendance Already Marked", request);
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<ErrorResponse> handleServiceBusy(ServiceBusyException ex, WebRequest request) {
+        return buildResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, "Service Busy", request);
+    }
+
     // -------------------- Authentication & Authorization exceptions --------------------
 
     @ExceptionHandler(BadCredentialsException.class)
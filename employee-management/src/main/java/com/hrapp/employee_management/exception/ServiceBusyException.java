@@ -0,0 +1,7 @@
+package com.hrapp.employee_management.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
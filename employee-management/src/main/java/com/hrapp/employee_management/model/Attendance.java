@@ -8,13 +8,17 @@ import java.time.LocalDateTime;
 @Entity
 @Table(
         name = "attendance",
-        uniqueConstraints = {@UniqueConstraint(columnNames = {"employee_id", "date"})}
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"employee_id", "date"})},
+        // Recently written rows, for the HR digest window
+        indexes = {@Index(name = "idx_attendance_updated_at", columnList = "updated_at")}
 )
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Attendance {
 
+    // Sequence (not IDENTITY) so Hibernate can batch inserts; allocationSize must match the sequence increment
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attendance_seq")
+    @SequenceGenerator(name = "attendance_seq", sequenceName = "attendance_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -63,5 +67,8 @@ public class Attendance {
     public void setReason(String reason) { this.reason = reason; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
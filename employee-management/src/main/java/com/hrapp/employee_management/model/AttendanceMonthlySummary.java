@@ -0,0 +1,54 @@
+package com.hrapp.employee_management.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Read model with per-employee, per-month counts of effective statuses (approved leave wins over
+ * attendance rows). Kept up to date incrementally by every attendance and leave write.
+ */
+@Entity
+@Table(
+        name = "attendance_monthly_summary",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"employee_id", "month_start"})}
+)
+public class AttendanceMonthlySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private int presentCount;
+
+    @Column(nullable = false)
+    private int absentCount;
+
+    @Column(nullable = false)
+    private int leaveCount;
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+
+    public int getPresentCount() { return presentCount; }
+    public void setPresentCount(int presentCount) { this.presentCount = presentCount; }
+
+    public int getAbsentCount() { return absentCount; }
+    public void setAbsentCount(int absentCount) { this.absentCount = absentCount; }
+
+    public int getLeaveCount() { return leaveCount; }
+    public void setLeaveCount(int leaveCount) { this.leaveCount = leaveCount; }
+}
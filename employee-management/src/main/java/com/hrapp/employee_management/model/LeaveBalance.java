@@ -0,0 +1,52 @@
+package com.hrapp.employee_management.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Running balance per employee and leave type, kept equal to the sum of the employee's ledger entries by
+ * applying each entry's delta in the same transaction. {@code pendingDays} is reserved by PENDING requests.
+ */
+@Entity
+@Table(
+        name = "leave_balances",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"employee_id", "leave_type"})}
+)
+public class LeaveBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false)
+    private LeaveType leaveType;
+
+    @Column(nullable = false)
+    private int balanceDays;
+
+    @Column(nullable = false)
+    private int pendingDays;
+
+    public int getAvailableDays() {
+        return balanceDays - pendingDays;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LeaveType getLeaveType() { return leaveType; }
+    public void setLeaveType(LeaveType leaveType) { this.leaveType = leaveType; }
+
+    public int getBalanceDays() { return balanceDays; }
+    public void setBalanceDays(int balanceDays) { this.balanceDays = balanceDays; }
+
+    public int getPendingDays() { return pendingDays; }
+    public void setPendingDays(int pendingDays) { this.pendingDays = pendingDays; }
+}
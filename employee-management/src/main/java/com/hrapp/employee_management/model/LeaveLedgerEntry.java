@@ -0,0 +1,88 @@
+package com.hrapp.employee_management.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of every change to a leave balance. {@link LeaveBalance} holds the running total;
+ * the ledger is the history it can be audited (or rebuilt) from. Rows are never updated or deleted.
+ */
+@Entity
+@Table(
+        name = "leave_ledger",
+        uniqueConstraints = {
+                // One accrual per employee, type and period, so rerunning the accrual job adds nothing
+                @UniqueConstraint(columnNames = {"employee_id", "leave_type", "entry_type", "period"})
+        },
+        indexes = {@Index(name = "idx_leave_ledger_employee", columnList = "employee_id, id")}
+)
+public class LeaveLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type", nullable = false)
+    private LeaveType leaveType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false)
+    private EntryType entryType;
+
+    // Signed: accruals and reversals are positive, consumption is negative
+    @Column(nullable = false)
+    private int days;
+
+    // Accrual month; null for other entry types
+    private LocalDate period;
+
+    private Long leaveRequestId;
+
+    @Column(length = 500)
+    private String note;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum EntryType {
+        ACCRUAL, CONSUMPTION, REVERSAL, ADJUSTMENT
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.createdAt == null) this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(Long employeeId) { this.employeeId = employeeId; }
+
+    public LeaveType getLeaveType() { return leaveType; }
+    public void setLeaveType(LeaveType leaveType) { this.leaveType = leaveType; }
+
+    public EntryType getEntryType() { return entryType; }
+    public void setEntryType(EntryType entryType) { this.entryType = entryType; }
+
+    public int getDays() { return days; }
+    public void setDays(int days) { this.days = days; }
+
+    public LocalDate getPeriod() { return period; }
+    public void setPeriod(LocalDate period) { this.period = period; }
+
+    public Long getLeaveRequestId() { return leaveRequestId; }
+    public void setLeaveRequestId(Long leaveRequestId) { this.leaveRequestId = leaveRequestId; }
+
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
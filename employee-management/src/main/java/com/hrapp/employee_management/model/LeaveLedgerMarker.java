@@ -0,0 +1,27 @@
+package com.hrapp.employee_management.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Records one-time leave ledger migrations (such as the backfill from existing requests) that have run, so
+ * they run once per database no matter how many instances start.
+ */
+@Entity
+@Table(name = "leave_ledger_markers")
+public class LeaveLedgerMarker {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -1,10 +1,22 @@
 package com.hrapp.employee_management.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(
+        name = "leave_requests",
+        indexes = {
+                // Status listings (pending approvals) ordered by start date
+                @Index(name = "idx_leave_requests_status_start", columnList = "status, start_date"),
+                // Per-employee overlap checks and approved-leave lookups
+                @Index(name = "idx_leave_requests_employee_status_dates",
+                        columnList = "employee_id, status, start_date, end_date")
+        }
+)
 public class LeaveRequest {
 
     @Id
@@ -30,11 +42,25 @@ public class LeaveRequest {
     @Column(length = 500)
     private String reason;
 
+    // Nullable so the column can be added to existing rows; those are read as ANNUAL
+    @Enumerated(EnumType.STRING)
+    @Column(name = "leave_type")
+    private LeaveType leaveType = LeaveType.ANNUAL;
+
+    // Null for requests created before the column existed; always set by the server, never by the client
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
 
     public enum LeaveStatus {
         PENDING, APPROVED, REJECTED
     }
 
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+
     // --- Getters & Setters ---
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -56,4 +82,14 @@ public class LeaveRequest {
 
     public String getReason() { return reason; }
     public void setReason(String reason) { this.reason = reason; }
+
+    public LeaveType getLeaveType() { return leaveType != null ? leaveType : LeaveType.ANNUAL; }
+    public void setLeaveType(LeaveType leaveType) { this.leaveType = leaveType; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getDays() {
+        return (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    }
 }
@@ -0,0 +1,12 @@
+package com.hrapp.employee_management.model;
+
+public enum LeaveType {
+    ANNUAL,
+    SICK,
+    UNPAID;
+
+    /** UNPAID leave is not limited by a balance. */
+    public boolean isTracked() {
+        return this != UNPAID;
+    }
+}
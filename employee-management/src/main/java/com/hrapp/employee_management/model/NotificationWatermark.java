@@ -0,0 +1,27 @@
+package com.hrapp.employee_management.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of a periodic notification job: everything up to {@code watermark} has been reported.
+ * Advanced in the same transaction that queues the notification mails, so a rerun never reports twice.
+ */
+@Entity
+@Table(name = "notification_watermarks")
+public class NotificationWatermark {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDateTime watermark;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDateTime getWatermark() { return watermark; }
+    public void setWatermark(LocalDateTime watermark) { this.watermark = watermark; }
+}
@@ -0,0 +1,11 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.AttendanceStatus;
+
+import java.time.LocalDate;
+
+public interface AttendanceDayView {
+    Long getEmployeeId();
+    LocalDate getDate();
+    AttendanceStatus getStatus();
+}
@@ -0,0 +1,61 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.AttendanceMonthlySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AttendanceMonthlySummaryRepository extends JpaRepository<AttendanceMonthlySummary, Long> {
+
+    List<AttendanceMonthlySummary> findByMonthStartOrderByEmployeeId(LocalDate monthStart);
+
+    // Atomic increment; concurrent writers for the same employee-month never lose an update
+    @Modifying
+    @Query(value = "INSERT INTO attendance_monthly_summary " +
+            "(employee_id, month_start, present_count, absent_count, leave_count) " +
+            "VALUES (:employeeId, :monthStart, :present, :absent, :leave) " +
+            "ON CONFLICT (employee_id, month_start) DO UPDATE SET " +
+            "present_count = attendance_monthly_summary.present_count + EXCLUDED.present_count, " +
+            "absent_count = attendance_monthly_summary.absent_count + EXCLUDED.absent_count, " +
+            "leave_count = attendance_monthly_summary.leave_count + EXCLUDED.leave_count",
+            nativeQuery = true)
+    void addCounts(@Param("employeeId") Long employeeId,
+                   @Param("monthStart") LocalDate monthStart,
+                   @Param("present") int present,
+                   @Param("absent") int absent,
+                   @Param("leave") int leave);
+
+    @Modifying
+    @Query("DELETE FROM AttendanceMonthlySummary s WHERE s.employeeId = :employeeId")
+    void deleteByEmployeeId(@Param("employeeId") Long employeeId);
+
+    @Modifying
+    @Query(value = "DELETE FROM attendance_monthly_summary", nativeQuery = true)
+    void deleteAllRows();
+
+    // Same definition as the incremental path: approved leave days count once as LEAVE and hide the
+    // attendance rows they cover; every other attendance row counts by its own status
+    @Modifying
+    @Query(value = "INSERT INTO attendance_monthly_summary " +
+            "(employee_id, month_start, present_count, absent_count, leave_count) " +
+            "SELECT employee_id, month_start, SUM(present), SUM(absent), SUM(on_leave) FROM (" +
+            "  SELECT a.employee_id, CAST(date_trunc('month', a.date) AS date) AS month_start, " +
+            "         CASE WHEN a.status = 'PRESENT' THEN 1 ELSE 0 END AS present, " +
+            "         CASE WHEN a.status = 'ABSENT' THEN 1 ELSE 0 END AS absent, " +
+            "         CASE WHEN a.status = 'LEAVE' THEN 1 ELSE 0 END AS on_leave " +
+            "  FROM attendance a " +
+            "  WHERE NOT EXISTS (SELECT 1 FROM leave_requests l WHERE l.employee_id = a.employee_id " +
+            "        AND l.status = 'APPROVED' AND a.date BETWEEN l.start_date AND l.end_date) " +
+            "  UNION ALL " +
+            "  SELECT d.employee_id, CAST(date_trunc('month', d.day) AS date), 0, 0, 1 FROM (" +
+            "    SELECT DISTINCT l.employee_id, CAST(generate_series(l.start_date, l.end_date, INTERVAL '1 day') AS date) AS day " +
+            "    FROM leave_requests l WHERE l.status = 'APPROVED'" +
+            "  ) d " +
+            ") t GROUP BY employee_id, month_start",
+            nativeQuery = true)
+    int insertRebuiltRows();
+}
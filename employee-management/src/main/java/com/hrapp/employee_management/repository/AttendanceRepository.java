@@ -2,18 +2,80 @@ package com.hrapp.employee_management.repository;
 
 import com.hrapp.employee_management.model.Attendance;
 import com.hrapp.employee_management.model.AttendanceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
     List<Attendance> findByEmployee_Id(Long employeeId);
     Optional<Attendance> findByEmployee_IdAndDate(Long employeeId, LocalDate date);
+    List<Attendance> findByEmployee_IdAndDateBetween(Long employeeId, LocalDate from, LocalDate to);
+    List<Attendance> findByDateBetween(LocalDate from, LocalDate to);
+    List<Attendance> findByEmployee_IdInAndDateBetween(Collection<Long> employeeIds, LocalDate from, LocalDate to);
+
+    // Cursor-backed: must be consumed inside a transaction and closed
+    @Query("SELECT a.employee.id AS employeeId, a.date AS date, a.status AS status FROM Attendance a " +
+            "WHERE a.date BETWEEN :from AND :to ORDER BY a.employee.id, a.date")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<AttendanceDayView> streamByDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Ids for rows inserted by the native statements below. {@code attendance_seq} hands out blocks of 50 for
+     * the JPA pooled optimizer, so a native nextval on it would burn a whole block per row; the native sequence
+     * ({@code attendance_native_seq}) steps by one and starts at this base, so the two id ranges never meet.
+     * Created by {@code AttendanceSequenceInitializer}.
+     */
+    long NATIVE_ID_BASE = 1_000_000_000_000L;
+
+    /**
+     * Marks attendance in one round trip. Nothing is inserted (and no id returned) when the employee does not
+     * exist, an approved leave covers the date, or a row for (employee_id, date) already exists.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO attendance (id, employee_id, date, status, created_at, updated_at) " +
+            "SELECT nextval('attendance_native_seq'), u.id, :date, :status, :now, :now FROM users u " +
+            "WHERE u.id = :employeeId AND NOT EXISTS (" +
+            "  SELECT 1 FROM leave_requests l WHERE l.employee_id = u.id AND l.status = 'APPROVED' " +
+            "  AND l.start_date <= :date AND l.end_date >= :date) " +
+            "ON CONFLICT (employee_id, date) DO NOTHING " +
+            "RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("employeeId") Long employeeId,
+                                  @Param("date") LocalDate date,
+                                  @Param("status") String status,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Day close: one row for every active employee without an attendance row or approved leave on {@code date},
+     * written with {@code status}. Existing rows are left untouched, so a rerun inserts nothing new.
+     * Returns the ids of the employees that got a row.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO attendance (id, employee_id, date, status, created_at, updated_at) " +
+            "SELECT nextval('attendance_native_seq'), u.id, :date, :status, :now, :now FROM users u " +
+            "WHERE u.status = 'ACTIVE' AND UPPER(u.role) = 'EMPLOYEE' " +
+            // Skips employees who already have a row, so they don't draw an id only to hit the conflict
+            "AND NOT EXISTS (SELECT 1 FROM attendance a WHERE a.employee_id = u.id AND a.date = :date) " +
+            "AND NOT EXISTS (" +
+            "  SELECT 1 FROM leave_requests l WHERE l.employee_id = u.id AND l.status = 'APPROVED' " +
+            "  AND l.start_date <= :date AND l.end_date >= :date) " +
+            "ON CONFLICT (employee_id, date) DO NOTHING " +
+            "RETURNING employee_id", nativeQuery = true)
+    List<Long> closeDay(@Param("date") LocalDate date,
+                        @Param("status") String status,
+                        @Param("now") LocalDateTime now);
+
     @Modifying
     @Query("DELETE FROM Attendance a WHERE a.employee.id = :userId")
     void deleteByEmployeeId(@Param("userId") Long userId);
@@ -0,0 +1,7 @@
+package com.hrapp.employee_management.repository;
+
+public interface HrDigestRowView {
+    String getCategory();
+    String getLabel();
+    Long getTotal();
+}
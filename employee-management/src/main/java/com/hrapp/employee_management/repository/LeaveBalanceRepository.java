@@ -0,0 +1,72 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.LeaveBalance;
+import com.hrapp.employee_management.model.LeaveType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long> {
+
+    Optional<LeaveBalance> findByEmployeeIdAndLeaveType(Long employeeId, LeaveType leaveType);
+    List<LeaveBalance> findByEmployeeIdOrderByLeaveType(Long employeeId);
+
+    // Atomic increment, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO leave_balances (employee_id, leave_type, balance_days, pending_days) " +
+            "VALUES (:employeeId, :leaveType, :balance, :pending) " +
+            "ON CONFLICT (employee_id, leave_type) DO UPDATE SET " +
+            "balance_days = leave_balances.balance_days + EXCLUDED.balance_days, " +
+            "pending_days = leave_balances.pending_days + EXCLUDED.pending_days",
+            nativeQuery = true)
+    void addDays(@Param("employeeId") Long employeeId,
+                 @Param("leaveType") String leaveType,
+                 @Param("balance") int balance,
+                 @Param("pending") int pending);
+
+    /**
+     * Monthly accrual for every active employee in one statement: the ledger insert skips employees already
+     * credited for {@code period}, and only the rows it actually inserted are added to the balances.
+     */
+    @Modifying
+    @Query(value = "WITH credited AS (" +
+            "  INSERT INTO leave_ledger (employee_id, leave_type, entry_type, days, period, note, created_at) " +
+            "  SELECT u.id, :leaveType, 'ACCRUAL', :days, :period, 'Monthly accrual', now() FROM users u " +
+            "  WHERE u.status = 'ACTIVE' AND UPPER(u.role) = 'EMPLOYEE' " +
+            "  ON CONFLICT (employee_id, leave_type, entry_type, period) DO NOTHING " +
+            "  RETURNING employee_id, days) " +
+            "INSERT INTO leave_balances (employee_id, leave_type, balance_days, pending_days) " +
+            "SELECT employee_id, :leaveType, days, 0 FROM credited " +
+            "ON CONFLICT (employee_id, leave_type) DO UPDATE SET " +
+            "balance_days = leave_balances.balance_days + EXCLUDED.balance_days",
+            nativeQuery = true)
+    int accrue(@Param("leaveType") String leaveType,
+               @Param("days") int days,
+               @Param("period") LocalDate period);
+
+    /**
+     * Backfill: opening credit minus historic consumption leaves exactly the PENDING days on the balance, and those
+     * same days are reserved, so pending requests can still be approved and nothing else becomes available.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO leave_balances (employee_id, leave_type, balance_days, pending_days) " +
+            "SELECT employee_id, type, pending, pending FROM (" +
+            "  SELECT employee_id, COALESCE(leave_type, 'ANNUAL') AS type, " +
+            "  SUM(CASE WHEN status = 'PENDING' THEN end_date - start_date + 1 ELSE 0 END) AS pending " +
+            "  FROM leave_requests WHERE status IN ('APPROVED', 'PENDING') AND COALESCE(leave_type, 'ANNUAL') <> 'UNPAID' " +
+            "  GROUP BY employee_id, COALESCE(leave_type, 'ANNUAL')) history " +
+            "ON CONFLICT (employee_id, leave_type) DO UPDATE SET " +
+            "balance_days = leave_balances.balance_days + EXCLUDED.balance_days, " +
+            "pending_days = leave_balances.pending_days + EXCLUDED.pending_days",
+            nativeQuery = true)
+    int seedFromHistory();
+
+    @Modifying
+    @Query("DELETE FROM LeaveBalance b WHERE b.employeeId = :employeeId")
+    void deleteByEmployeeId(@Param("employeeId") Long employeeId);
+}
@@ -0,0 +1,9 @@
+package com.hrapp.employee_management.repository;
+
+import java.time.LocalDate;
+
+public interface LeaveIntervalView {
+    Long getEmployeeId();
+    LocalDate getStartDate();
+    LocalDate getEndDate();
+}
@@ -0,0 +1,18 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.LeaveLedgerMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface LeaveLedgerMarkerRepository extends JpaRepository<LeaveLedgerMarker, String> {
+
+    /** Returns 0 when the marker already exists, i.e. the migration has run (or is running in another instance). */
+    @Modifying
+    @Query(value = "INSERT INTO leave_ledger_markers (name, created_at) VALUES (:name, :createdAt) " +
+            "ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int create(@Param("name") String name, @Param("createdAt") LocalDateTime createdAt);
+}
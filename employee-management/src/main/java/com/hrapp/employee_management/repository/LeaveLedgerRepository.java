@@ -0,0 +1,37 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.LeaveLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface LeaveLedgerRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    List<LeaveLedgerEntry> findByEmployeeIdOrderByIdAsc(Long employeeId);
+
+    /** Backfill: one opening ADJUSTMENT per employee and type, equal to the days of their APPROVED and PENDING leave. */
+    @Modifying
+    @Query(value = "INSERT INTO leave_ledger (employee_id, leave_type, entry_type, days, note, created_at) " +
+            "SELECT employee_id, COALESCE(leave_type, 'ANNUAL'), 'ADJUSTMENT', SUM(end_date - start_date + 1), " +
+            "'Opening balance for leave requested before the ledger', now() " +
+            "FROM leave_requests WHERE status IN ('APPROVED', 'PENDING') AND COALESCE(leave_type, 'ANNUAL') <> 'UNPAID' " +
+            "GROUP BY employee_id, COALESCE(leave_type, 'ANNUAL')",
+            nativeQuery = true)
+    int insertOpeningEntries();
+
+    /** Backfill: the CONSUMPTION entry every APPROVED leave would have written had the ledger existed. */
+    @Modifying
+    @Query(value = "INSERT INTO leave_ledger (employee_id, leave_type, entry_type, days, leave_request_id, note, created_at) " +
+            "SELECT employee_id, COALESCE(leave_type, 'ANNUAL'), 'CONSUMPTION', -(end_date - start_date + 1), id, " +
+            "'Leave approved before the ledger', now() " +
+            "FROM leave_requests WHERE status = 'APPROVED' AND COALESCE(leave_type, 'ANNUAL') <> 'UNPAID'",
+            nativeQuery = true)
+    int insertHistoricConsumption();
+
+    @Modifying
+    @Query("DELETE FROM LeaveLedgerEntry e WHERE e.employeeId = :employeeId")
+    void deleteByEmployeeId(@Param("employeeId") Long employeeId);
+}
@@ -2,12 +2,26 @@ package com.hrapp.employee_management.repository;
 
 import com.hrapp.employee_management.model.LeaveRequest;
 import com.hrapp.employee_management.model.LeaveRequest.LeaveStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long>,
+        JpaSpecificationExecutor<LeaveRequest> {
 
     List<LeaveRequest> findByEmployeeUsername(String username);
     List<LeaveRequest> findByStatus(LeaveStatus status);
@@ -19,6 +33,67 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
             LocalDate endDate,
             LocalDate startDate
     );
+    List<LeaveRequest> findByEmployeeIdInAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            Collection<Long> employeeIds,
+            LeaveStatus status,
+            LocalDate endDate,
+            LocalDate startDate
+    );
+    List<LeaveRequest> findByStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            LeaveStatus status,
+            LocalDate endDate,
+            LocalDate startDate
+    );
+    List<LeaveRequest> findByStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+            Collection<LeaveStatus> statuses,
+            LocalDate endDate,
+            LocalDate startDate
+    );
+
+    /** Row lock (SELECT ... FOR UPDATE) so two concurrent decisions on one request see each other's result. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM LeaveRequest l WHERE l.id = :id")
+    Optional<LeaveRequest> findByIdForUpdate(@Param("id") Long id);
+
+    /** Decides many pending requests in one statement; returns the ids that were actually PENDING and changed. */
+    @Transactional
+    @Query(value = "UPDATE leave_requests SET status = :status WHERE id IN (:ids) AND status = 'PENDING' RETURNING id",
+            nativeQuery = true)
+    List<Long> decidePending(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    /**
+     * Serializes leave writes for one employee until the surrounding transaction ends. Other employees are not
+     * blocked, and the lock also holds across application instances. The key is a hash of the namespaced id, so
+     * any id fits; a rare collision only makes two employees wait on each other.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('leave_requests:' || CAST(:employeeId AS text)))",
+            nativeQuery = true)
+    Integer lockEmployee(@Param("employeeId") Long employeeId);
 
+    // Cursor-backed: must be consumed inside a transaction and closed
+    @Query("SELECT l.employeeId AS employeeId, l.startDate AS startDate, l.endDate AS endDate FROM LeaveRequest l " +
+            "WHERE l.status = :status AND l.startDate <= :to AND l.endDate >= :from ORDER BY l.employeeId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<LeaveIntervalView> streamByStatusOverlapping(@Param("status") LeaveStatus status,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
 
+    /**
+     * Every figure of the HR digest in one statement: pending requests created in (from, to] by type, all
+     * open pending requests, and ABSENT / NOT_MARKED attendance rows written in (from, to].
+     */
+    @Query(value = "SELECT 'NEW_PENDING' AS category, COALESCE(l.leave_type, 'ANNUAL') AS label, COUNT(*) AS total " +
+            "FROM leave_requests l WHERE l.status = 'PENDING' AND l.created_at > :from AND l.created_at <= :to " +
+            "GROUP BY COALESCE(l.leave_type, 'ANNUAL') " +
+            "UNION ALL " +
+            "SELECT 'OPEN_PENDING', '', COUNT(*) FROM leave_requests l WHERE l.status = 'PENDING' " +
+            "UNION ALL " +
+            "SELECT 'ANOMALY', a.status, COUNT(*) FROM attendance a " +
+            "WHERE a.status IN ('ABSENT', 'NOT_MARKED') AND a.updated_at > :from AND a.updated_at <= :to " +
+            "GROUP BY a.status " +
+            "UNION ALL " +
+            "SELECT 'ANOMALY_EMPLOYEES', '', COUNT(DISTINCT a.employee_id) FROM attendance a " +
+            "WHERE a.status IN ('ABSENT', 'NOT_MARKED') AND a.updated_at > :from AND a.updated_at <= :to",
+            nativeQuery = true)
+    List<HrDigestRowView> summarizeForDigest(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
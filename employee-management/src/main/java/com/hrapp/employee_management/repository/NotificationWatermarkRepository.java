@@ -0,0 +1,25 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.NotificationWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface NotificationWatermarkRepository extends JpaRepository<NotificationWatermark, String> {
+
+    /** First run only; returns 0 when another run created the row first. */
+    @Modifying
+    @Query(value = "INSERT INTO notification_watermarks (name, watermark) VALUES (:name, :watermark) " +
+            "ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int create(@Param("name") String name, @Param("watermark") LocalDateTime watermark);
+
+    /** Compare-and-set; returns 0 when another run already moved the mark past {@code previous}. */
+    @Modifying
+    @Query("UPDATE NotificationWatermark w SET w.watermark = :next WHERE w.name = :name AND w.watermark = :previous")
+    int advance(@Param("name") String name,
+                @Param("previous") LocalDateTime previous,
+                @Param("next") LocalDateTime next);
+}
@@ -0,0 +1,47 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.OutboundEmail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    /**
+     * Claims up to {@code limit} due rows for one worker. SKIP LOCKED lets concurrent workers (and other
+     * instances) claim disjoint batches without waiting on each other.
+     */
+    @Transactional
+    @Query(value = "UPDATE email_outbox SET status = 'SENDING', attempts = attempts + 1, claimed_at = :now " +
+            "WHERE id IN (SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "  ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING id", nativeQuery = true)
+    List<Long> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // The body is cleared once delivered: it may hold a temporary password or a reset link
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = 'SENT', e.sentAt = :now, e.lastError = null, e.body = '' " +
+            "WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // Rows left SENDING by a worker that died mid-batch go back to the queue
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = 'PENDING' WHERE e.status = 'SENDING' AND e.claimedAt < :cutoff")
+    int requeueStale(@Param("cutoff") LocalDateTime cutoff);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboundEmail e WHERE e.status IN ('SENT', 'FAILED') AND e.createdAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT e.status, COUNT(e) FROM OutboundEmail e GROUP BY e.status")
+    List<Object[]> countByStatus();
+}
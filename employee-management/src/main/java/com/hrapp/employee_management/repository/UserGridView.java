@@ -0,0 +1,13 @@
+package com.hrapp.employee_management.repository;
+
+import com.hrapp.employee_management.model.UserStatus;
+
+// Only what the admin grid shows; the profile picture is fetched per user when a profile is opened
+public interface UserGridView {
+    Long getId();
+    String getName();
+    String getEmail();
+    String getRole();
+    UserStatus getStatus();
+    Double getSalary();
+}
@@ -2,18 +2,60 @@ package com.hrapp.employee_management.repository;
 
 import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.model.UserStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
     List<User> findByRoleAndStatus(String role, UserStatus status);
+    List<User> findByRoleInAndStatus(Collection<String> roles, UserStatus status);
     List<User> findByRole(String role);
     List<User> findByStatus(UserStatus status);
     List<User> findByRoleOrderByStatusAscNameAsc(String role);
+
+    // Admin grid: only the displayed columns, one page at a time
+    Page<UserGridView> findGridBy(Pageable pageable);
+    Page<UserGridView> findGridByRole(String role, Pageable pageable);
+    Page<UserGridView> findGridByStatus(UserStatus status, Pageable pageable);
+    Page<UserGridView> findGridByRoleAndStatus(String role, UserStatus status, Pageable pageable);
+
+    // Name/email prefix matches; :prefix is lower-cased, LIKE-escaped and ends with '%'
+    @Query(value = "SELECT u.id AS id, u.name AS name, u.email AS email, u.role AS role, u.status AS status, " +
+            "u.salary AS salary FROM users u " +
+            "WHERE lower(u.name) LIKE :prefix OR lower(u.email) LIKE :prefix " +
+            "ORDER BY u.name, u.id LIMIT :limit", nativeQuery = true)
+    List<UserGridView> searchByPrefix(@Param("prefix") String prefix, @Param("limit") int limit);
+
+    // Prefix matches first, then trigram matches by similarity; every branch of the WHERE has its own index
+    @Query(value = "SELECT u.id AS id, u.name AS name, u.email AS email, u.role AS role, u.status AS status, " +
+            "u.salary AS salary FROM users u " +
+            "WHERE lower(u.name) LIKE :prefix OR lower(u.email) LIKE :prefix " +
+            "OR lower(u.name) % :query OR lower(u.email) % :query " +
+            "ORDER BY (lower(u.name) LIKE :prefix OR lower(u.email) LIKE :prefix) DESC, " +
+            "GREATEST(similarity(lower(u.name), :query), similarity(lower(u.email), :query)) DESC, u.name, u.id " +
+            "LIMIT :limit", nativeQuery = true)
+    List<UserGridView> searchFuzzy(@Param("query") String query, @Param("prefix") String prefix,
+                                   @Param("limit") int limit);
+
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email FROM User u WHERE u.id IN :ids")
+    List<UserSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Cursor-backed: must be consumed inside a transaction and closed
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserSummaryView> streamAllSummaries();
 }
@@ -0,0 +1,7 @@
+package com.hrapp.employee_management.repository;
+
+public interface UserSummaryView {
+    Long getId();
+    String getName();
+    String getEmail();
+}
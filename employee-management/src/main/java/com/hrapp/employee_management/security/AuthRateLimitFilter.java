@@ -0,0 +1,165 @@
+package com.hrapp.employee_management.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Throttles login, forgot-password and reset-password by client IP and, where the request names one, by
+ * email. Runs ahead of {@link JwtAuthenticationFilter}; rejected requests get 429 with Retry-After.
+ * <p>
+ * The IP is {@code getRemoteAddr()}, which reflects X-Forwarded-For only when
+ * {@code server.forward-headers-strategy} is set and the request came through a trusted proxy; the header is
+ * never read directly, since any client can set it.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            "/api/auth/login", "/api/auth/forgot-password", "/api/auth/reset-password");
+    // Login and reset bodies are tiny; anything larger is rejected with 413 rather than passed on half-read
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final AuthRateLimiter limiter;
+
+    public AuthRateLimitFilter(AuthRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getRequestURI().toLowerCase());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI().toLowerCase();
+        long retryAfter = limiter.tryAcquire(AuthRateLimiter.KeyType.IP, path + "|ip|" + request.getRemoteAddr());
+        if (retryAfter > 0) {
+            reject(response, retryAfter);
+            return;
+        }
+
+        // The controllers bind JSON bodies, so for JSON only the body's email counts; a query parameter would
+        // let a client pick a fresh email bucket on every attempt against the same account
+        HttpServletRequest forwarded = request;
+        String email;
+        if (isJson(request)) {
+            CachedBodyRequest cached = CachedBodyRequest.of(request);
+            if (cached == null) {
+                response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                mapper.writeValue(response.getWriter(), Map.of("error", "Request body too large."));
+                return;
+            }
+            forwarded = cached;
+            email = cached.jsonField("email");
+        } else {
+            email = request.getParameter("email");
+        }
+
+        if (email != null && !email.isBlank()) {
+            retryAfter = limiter.tryAcquire(AuthRateLimiter.KeyType.EMAIL,
+                    path + "|email|" + email.trim().toLowerCase());
+            if (retryAfter > 0) {
+                reject(response, retryAfter);
+                return;
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private static boolean isJson(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private void reject(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        mapper.writeValue(response.getWriter(), Map.of("error", "Too many requests, please retry later."));
+    }
+
+    // Buffers a small JSON body so the email can be read here and the controller can still read it
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // Null when the body is over the limit; the stream may then be partly consumed, so it can't be passed on
+        static CachedBodyRequest of(HttpServletRequest request) throws IOException {
+            int length = request.getContentLength();
+            if (length > MAX_BODY_BYTES) return null;
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) return null;
+            return new CachedBodyRequest(request, body);
+        }
+
+        String jsonField(String name) {
+            try {
+                JsonNode value = mapper.readTree(body).get(name);
+                return value != null && value.isTextual() ? value.asText() : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override public boolean isFinished() { return in.available() == 0; }
+                @Override public boolean isReady() { return true; }
+                @Override public int read() { return in.read(); }
+                @Override public int read(byte[] b, int off, int len) { return in.read(b, off, len); }
+
+                // The whole body is already in memory, so it is available at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) listener.onDataAvailable();
+                        if (isFinished()) listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.hrapp.employee_management.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free rate limiting for the unauthenticated auth endpoints, keyed by client IP and by email.
+ * <p>
+ * Each key is a token bucket stored as one {@code AtomicLong}: its "theoretical arrival time" (GCRA). A
+ * request is allowed if the bucket still has room within the burst and advances the time with a CAS; a key
+ * whose time has fallen behind the clock is a full bucket and can be dropped, which keeps memory bounded.
+ * <p>
+ * IP and email buckets are kept apart, each capped at {@code max-keys}. A flood of IP keys may push out other
+ * active IP keys, but never an email bucket: otherwise an attacker could reset a victim's per-account limit by
+ * spraying keys. When the email map is full of active buckets, a new email is let through on the IP limit alone
+ * until idle buckets are swept.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    public enum KeyType { IP, EMAIL }
+
+    private final Map<String, AtomicLong> ipBuckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> emailBuckets = new ConcurrentHashMap<>();
+    private final long ipIntervalNanos;
+    private final long ipBurstNanos;
+    private final long emailIntervalNanos;
+    private final long emailBurstNanos;
+    private final int maxKeys;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder evictedKeys = new LongAdder();
+    private final LongAdder untrackedEmails = new LongAdder();
+
+    public AuthRateLimiter(@Value("${app.security.rate-limit.ip-per-minute:300}") int ipPerMinute,
+                           @Value("${app.security.rate-limit.email-per-minute:5}") int emailPerMinute,
+                           @Value("${app.security.rate-limit.max-keys:100000}") int maxKeys) {
+        this.ipIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, ipPerMinute);
+        this.ipBurstNanos = ipIntervalNanos * (Math.max(1, ipPerMinute) - 1);
+        this.emailIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, emailPerMinute);
+        this.emailBurstNanos = emailIntervalNanos * (Math.max(1, emailPerMinute) - 1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token for {@code key}. Returns 0 when allowed, otherwise the number of seconds after which
+     * the request would be allowed (for Retry-After).
+     */
+    public long tryAcquire(KeyType type, String key) {
+        long interval = type == KeyType.IP ? ipIntervalNanos : emailIntervalNanos;
+        long burst = type == KeyType.IP ? ipBurstNanos : emailBurstNanos;
+        Map<String, AtomicLong> buckets = type == KeyType.IP ? ipBuckets : emailBuckets;
+        long now = System.nanoTime();
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                sweepIdle(buckets, now);
+                if (buckets.size() >= maxKeys) {
+                    if (type == KeyType.EMAIL) {
+                        untrackedEmails.increment();
+                        allowed.increment();
+                        return 0;
+                    }
+                    evictActive(buckets);
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            if (start - now > burst) {
+                (type == KeyType.IP ? rejectedByIp : rejectedByEmail).increment();
+                return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(start - now - burst + TimeUnit.SECONDS.toNanos(1) - 1));
+            }
+            if (bucket.compareAndSet(tat, start + interval)) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public Map<String, Long> getStats() {
+        return Map.of(
+                "ipKeys", (long) ipBuckets.size(),
+                "emailKeys", (long) emailBuckets.size(),
+                "allowed", allowed.sum(),
+                "rejectedByIp", rejectedByIp.sum(),
+                "rejectedByEmail", rejectedByEmail.sum(),
+                "evictedKeys", evictedKeys.sum(),
+                "untrackedEmails", untrackedEmails.sum()
+        );
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        sweepIdle(ipBuckets, now);
+        sweepIdle(emailBuckets, now);
+    }
+
+    // Full buckets carry no state, so dropping them changes nothing
+    private void sweepIdle(Map<String, AtomicLong> buckets, long now) {
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().get() <= now) {
+                it.remove();
+                evictedKeys.increment();
+            }
+        }
+    }
+
+    // IP keys only, in the map's (arbitrary) iteration order, down to 90% of the cap
+    private void evictActive(Map<String, AtomicLong> buckets) {
+        Iterator<AtomicLong> it = buckets.values().iterator();
+        while (buckets.size() > maxKeys * 9 / 10 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictedKeys.increment();
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.hrapp.employee_management.security;
 
+import com.hrapp.employee_management.model.User;
+import com.hrapp.employee_management.model.UserStatus;
 import com.hrapp.employee_management.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,10 +23,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
@@ -30,6 +38,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationRegistry revocations;
+
+    // When on, verified access tokens carrying a user id are trusted without reading the user table
+    @Value("${app.security.stateless-tokens:false}")
+    private boolean statelessTokens;
+
     private static final ObjectMapper mapper = new ObjectMapper();
 
     @Override
@@ -51,49 +66,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String username;
+        // One parse verifies signature and expiry and yields every claim the filter needs
+        Claims claims;
         try {
-            username = jwtUtils.getUsernameFromToken(jwt);
+            claims = jwtUtils.getVerifiedClaims(jwt);
         } catch (Exception e) {
-            sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token.");
+            sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token.");
             return;
         }
 
+        String username = claims.getSubject();
         if (username == null) {
             sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid token: no username.");
             return;
         }
 
         if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Long userId = JwtUtils.getUserId(claims);
             UserDetails userDetails;
-            try {
-                userDetails = userDetailsService.loadUserByUsername(username);
-            } catch (Exception e) {
-                sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "User not found.");
-                return;
-            }
-
-            if (!jwtUtils.validateToken(jwt)) {
-                sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired token.");
-                return;
+            Collection<? extends GrantedAuthority> authorities;
+            if (statelessTokens && revocations.isTrusted(userId, claims.getIssuedAt())) {
+                List<String> roles = JwtUtils.getRoles(claims);
+                if (roles == null || roles.isEmpty()) {
+                    roles = List.of("EMPLOYEE");
+                }
+                userDetails = new CustomUserDetails(principalFromClaims(userId, username, claims, roles));
+                authorities = roles.stream()
+                        .map(String::toUpperCase)
+                        .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
+            } else {
+                // Untrusted or revoked token: the user table decides, so a deactivated user or a changed role
+                // takes effect on the next request
+                try {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                } catch (Exception e) {
+                    sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "User not found.");
+                    return;
+                }
+                if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                    sendError(response, HttpServletResponse.SC_UNAUTHORIZED, "Account is deactivated.");
+                    return;
+                }
+                authorities = userDetails.getAuthorities();
             }
 
-            List<String> roles = jwtUtils.getRolesFromToken(jwt);
-            if (roles == null || roles.isEmpty()) {
-                roles = List.of("EMPLOYEE");
-            }
-
-            List<SimpleGrantedAuthority> authorities = roles.stream()
-                    .map(String::toUpperCase)
-                    .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
-
-            System.out.println("🔹 JWT username: " + username);
-            System.out.println("🔹 Roles from token: " + roles);
-            System.out.println("🔹 Authorities assigned: " + authorities);
-            System.out.println("🔹 User enabled: " + userDetails.isEnabled());
-            System.out.println("🔹 User account non-locked: " + userDetails.isAccountNonLocked());
+            log.debug("🔹 JWT username: {}, authorities: {}", username, authorities);
 
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
@@ -104,6 +123,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Only the fields a principal needs; deactivation, deletion and role changes revoke the token instead
+    private static User principalFromClaims(Long userId, String email, Claims claims, List<String> roles) {
+        User user = new User();
+        user.setId(userId);
+        user.setEmail(email);
+        user.setName(JwtUtils.getName(claims));
+        String role = roles.get(0).toUpperCase();
+        user.setRole(role.startsWith("ROLE_") ? role.substring(5) : role);
+        user.setStatus(UserStatus.ACTIVE);
+        return user;
+    }
+
     private void sendError(HttpServletResponse response, int status, String message) throws IOException {
         response.setStatus(status);
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -3,6 +3,7 @@ package com.hrapp.employee_management.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -10,43 +11,78 @@ import java.security.Key;
 import java.util.Date;
 import java.util.List;
 
+@Slf4j
 @Component
 public class JwtUtils {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String NAME_CLAIM = "name";
+
     private final Key key;
+    // Immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
     private final long jwtExpirationMs = 1000 * 60 * 60 * 24; // 24h access token
     private final long refreshExpirationMs = 1000L * 60 * 60 * 24 * 7; // 7 days refresh token
 
     public JwtUtils(@Value("${jwt.secret}") String secret) {
         byte[] decodedKey = Decoders.BASE64.decode(secret);
         this.key = Keys.hmacShaKeyFor(decodedKey);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims; read the subject and roles from the
+     * result instead of calling the single-purpose methods below on the same token.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims getVerifiedClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    public static List<String> getRoles(Claims claims) {
+        return (List<String>) claims.get("roles");
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            getVerifiedClaims(token);
             return true;
-        } catch (JwtException e) {
-            System.out.println("❌ Token validation failed: " + e.getMessage());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("❌ Token validation failed: {}", e.getMessage());
             return false;
         }
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody().getSubject();
+        return getVerifiedClaims(token).getSubject();
     }
 
     public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(key).build()
-                .parseClaimsJws(token).getBody();
-        return (List<String>) claims.get("roles");
+        return getRoles(getVerifiedClaims(token));
+    }
+
+    public static Long getUserId(Claims claims) {
+        Number uid = claims.get(USER_ID_CLAIM, Number.class);
+        return uid != null ? uid.longValue() : null;
+    }
+
+    public static String getName(Claims claims) {
+        return claims.get(NAME_CLAIM, String.class);
     }
 
     public String generateAccessToken(String username, List<String> roles) {
+        return generateAccessToken(null, username, null, roles);
+    }
+
+    // uid and name let the filter build the principal from the token alone (stateless mode)
+    public String generateAccessToken(Long userId, String username, String name, List<String> roles) {
         return Jwts.builder()
                 .setSubject(username)
                 .claim("roles", roles)
+                .claim(USER_ID_CLAIM, userId)
+                .claim(NAME_CLAIM, name)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
                 .signWith(key, SignatureAlgorithm.HS512)
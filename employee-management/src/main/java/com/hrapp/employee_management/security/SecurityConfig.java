@@ -2,6 +2,7 @@ package com.hrapp.employee_management.security;
 
 import com.hrapp.employee_management.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -26,6 +27,9 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService customUserDetailsService;
 
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -38,6 +42,7 @@ public class SecurityConfig {
                     ));
                     config.setAllowedMethods(java.util.Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
                     config.setAllowedHeaders(java.util.Arrays.asList("*"));
+                    config.setExposedHeaders(java.util.Arrays.asList("X-Next-Cursor", "X-Total-Count"));
                     config.setAllowCredentials(true);
                     config.setMaxAge(3600L);
                     return config;
@@ -55,8 +60,11 @@ public class SecurityConfig {
                         // Attendance
                         .requestMatchers("/api/attendance/mark/**").hasRole("EMPLOYEE")
                         .requestMatchers("/api/attendance/me/**").hasRole("EMPLOYEE")
-                        .requestMatchers("/api/attendance/override").hasRole("ADMIN")
+                        .requestMatchers("/api/attendance/override", "/api/attendance/override/**").hasRole("ADMIN")
                         .requestMatchers("/api/attendance/all/**").hasAnyRole("HR", "ADMIN")
+                        .requestMatchers("/api/attendance/summary/rebuild").hasRole("ADMIN")
+                        .requestMatchers("/api/attendance/close").hasRole("ADMIN")
+                        .requestMatchers("/api/attendance/summary").hasAnyRole("HR", "ADMIN")
                         .requestMatchers("/api/attendance/status/**").hasRole("HR")
 
                         // Users
@@ -81,7 +89,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 // ✅ Add JWT filter
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Throttle login / password-reset attempts before any token or password work
+                .addFilterBefore(new AuthRateLimitFilter(authRateLimiter), JwtAuthenticationFilter.class);
 //                .formLogin().disable();
 
         return http.build();
@@ -101,8 +112,22 @@ public class SecurityConfig {
         return authBuilder.build();
     }
 
+    // Raising the strength rehashes each user's password on their next successful login
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.security.bcrypt.threads:0}")
+    private int bcryptThreads;
+
+    @Value("${app.security.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Value("${app.security.bcrypt.wait-timeout-ms:5000}")
+    private long bcryptWaitTimeoutMs;
+
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = bcryptThreads > 0 ? bcryptThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedBCryptPasswordEncoder(bcryptStrength, threads, bcryptQueueCapacity, bcryptWaitTimeoutMs);
     }
 }
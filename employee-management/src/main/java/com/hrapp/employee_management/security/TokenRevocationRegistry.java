@@ -0,0 +1,45 @@
+package com.hrapp.employee_management.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user "not before" times for access tokens, used when the JWT filter trusts token claims instead of
+ * reading the user table. A token is revoked if it was issued before its user's entry.
+ * <p>
+ * Entries live only in memory. Tokens issued before this instance started are never trusted directly (the
+ * filter checks them against the database), so nothing has to be reloaded after a restart.
+ * <p>
+ * A revocation is only seen by the instance that made it, so {@code app.security.stateless-tokens} must stay
+ * off when more than one instance serves the API; otherwise another instance keeps trusting the revoked token
+ * until it expires.
+ */
+@Slf4j
+@Component
+public class TokenRevocationRegistry {
+
+    // JWT iat has second precision
+    private final long startedAtSeconds = System.currentTimeMillis() / 1000;
+    private final Map<Long, Long> notBeforeSeconds = new ConcurrentHashMap<>();
+
+    /** Invalidates every access token already issued to the user, including ones from the current second. */
+    public void revoke(Long userId) {
+        if (userId == null) return;
+        long notBefore = System.currentTimeMillis() / 1000 + 1;
+        notBeforeSeconds.merge(userId, notBefore, Math::max);
+        log.info("🔒 Access tokens of user {} revoked", userId);
+    }
+
+    /** True when claims from a token with this user id and issue time can be trusted without a database read. */
+    public boolean isTrusted(Long userId, Date issuedAt) {
+        if (userId == null || issuedAt == null) return false;
+        long iat = issuedAt.getTime() / 1000;
+        if (iat < startedAtSeconds) return false;
+        Long notBefore = notBeforeSeconds.get(userId);
+        return notBefore == null || iat >= notBefore;
+    }
+}
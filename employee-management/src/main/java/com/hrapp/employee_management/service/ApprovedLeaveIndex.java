@@ -0,0 +1,59 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.repository.LeaveRequestRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Approved leave per employee as {@link LeaveIntervals}, loaded on first use with one query and kept
+ * current by leave approvals, so "is this date covered by approved leave" is answered in O(log n).
+ */
+@Component
+public class ApprovedLeaveIndex {
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final Map<Long, LeaveIntervals> byEmployee = new ConcurrentHashMap<>();
+    // Bumped by every change; a load that overlapped one is returned but not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    public ApprovedLeaveIndex(LeaveRequestRepository leaveRequestRepository) {
+        this.leaveRequestRepository = leaveRequestRepository;
+    }
+
+    // Loaded outside the map, so the query never runs while a ConcurrentHashMap bin is locked
+    public LeaveIntervals forEmployee(Long employeeId) {
+        LeaveIntervals cached = byEmployee.get(employeeId);
+        if (cached != null) return cached;
+
+        long before = changes.get();
+        LeaveIntervals loaded = LeaveIntervals.of(
+                leaveRequestRepository.findByEmployeeIdAndStatus(employeeId, LeaveRequest.LeaveStatus.APPROVED));
+        if (changes.get() != before) return loaded;
+        LeaveIntervals raced = byEmployee.putIfAbsent(employeeId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    public boolean covers(Long employeeId, LocalDate date) {
+        return forEmployee(employeeId).covers(date);
+    }
+
+    public void recordApproval(Long employeeId, LocalDate start, LocalDate end) {
+        TransactionCallbacks.afterCommit(() -> {
+            changes.incrementAndGet();
+            byEmployee.computeIfPresent(employeeId, (id, intervals) -> intervals.with(start, end));
+        });
+    }
+
+    // Merged ranges cannot be split reliably, so the employee is reloaded on next use
+    public void invalidate(Long employeeId) {
+        TransactionCallbacks.afterCommit(() -> {
+            changes.incrementAndGet();
+            byEmployee.remove(employeeId);
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.AttendanceStatus;
+import com.hrapp.employee_management.repository.AttendanceRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the final status row for every active employee who neither marked attendance nor was on approved
+ * leave, so closed days are stored instead of being synthesized on every read. Safe to rerun: days that
+ * already have a row are skipped by the insert itself. Weekends ({@code app.attendance.working-days}) and
+ * configured holidays ({@code app.attendance.holidays}) are not closed, so nobody is marked absent on them.
+ */
+@Service
+public class AttendanceDayCloseService {
+
+    public static final int MAX_CLOSE_DAYS = 31;
+
+    private final AttendanceRepository attendanceRepository;
+    private final AttendanceMonthCache monthCache;
+    private final AttendanceSummaryService summaryService;
+    private final AttendanceStatus closeStatus;
+    private final Set<DayOfWeek> workingDays;
+    private final Set<LocalDate> holidays;
+
+    public AttendanceDayCloseService(AttendanceRepository attendanceRepository,
+                                     AttendanceMonthCache monthCache,
+                                     AttendanceSummaryService summaryService,
+                                     @Value("${app.attendance.day-close.status:NOT_MARKED}") AttendanceStatus closeStatus,
+                                     @Value("${app.attendance.working-days:MONDAY,TUESDAY,WEDNESDAY,THURSDAY,FRIDAY}") List<DayOfWeek> workingDays,
+                                     @Value("${app.attendance.holidays:}") List<String> holidays) {
+        if (closeStatus != AttendanceStatus.NOT_MARKED && closeStatus != AttendanceStatus.ABSENT) {
+            throw new IllegalArgumentException("app.attendance.day-close.status must be NOT_MARKED or ABSENT");
+        }
+        this.attendanceRepository = attendanceRepository;
+        this.monthCache = monthCache;
+        this.summaryService = summaryService;
+        this.closeStatus = closeStatus;
+        this.workingDays = workingDays.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(workingDays);
+        this.holidays = new HashSet<>();
+        holidays.forEach(day -> this.holidays.add(LocalDate.parse(day.trim())));
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return workingDays.contains(date.getDayOfWeek()) && !holidays.contains(date);
+    }
+
+    /** One set-based insert per working day in [from, to]; today and future days can't be closed. */
+    @Transactional
+    public int closeDays(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+        if (!to.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Only past days can be closed.");
+        }
+        if (from.plusDays(MAX_CLOSE_DAYS - 1L).isBefore(to)) {
+            throw new IllegalArgumentException("At most " + MAX_CLOSE_DAYS + " days can be closed at once.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<AttendanceSummaryService.StatusChange> changes = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (!isWorkingDay(date)) continue;
+            for (Long employeeId : attendanceRepository.closeDay(date, closeStatus.name(), now)) {
+                monthCache.recordStatus(employeeId, date, closeStatus);
+                changes.add(new AttendanceSummaryService.StatusChange(employeeId, date, null, closeStatus));
+            }
+        }
+        summaryService.recordChanges(changes);
+        return changes.size();
+    }
+}
@@ -0,0 +1,260 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.Attendance;
+import com.hrapp.employee_management.model.AttendanceStatus;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.repository.AttendanceDayView;
+import com.hrapp.employee_management.repository.AttendanceRepository;
+import com.hrapp.employee_management.repository.LeaveIntervalView;
+import com.hrapp.employee_management.repository.LeaveRequestRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Effective attendance status per employee per month, packed 2 bits per day into a single {@code long}
+ * (31 days = 62 bits). Approved leave takes precedence over attendance rows, exactly as on the read path.
+ * Only the most recent {@code app.attendance.cache.retained-months} months are cached.
+ * <p>
+ * Write-through only reaches this instance's cache. With several instances, a month cached here does not see
+ * writes made on the others, so each month is dropped and reloaded {@code app.attendance.cache.ttl-seconds}
+ * after it was first loaded; 0 keeps months until they age out, which is only correct on a single instance.
+ */
+@Component
+public class AttendanceMonthCache {
+
+    private static final AttendanceStatus[] BY_CODE = {
+            AttendanceStatus.NOT_MARKED, AttendanceStatus.PRESENT, AttendanceStatus.ABSENT, AttendanceStatus.LEAVE
+    };
+
+    private final AttendanceRepository attendanceRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final int retainedMonths;
+    private final long ttlNanos;
+    private final Map<YearMonth, MonthSlab> months = new ConcurrentHashMap<>();
+
+    public AttendanceMonthCache(AttendanceRepository attendanceRepository,
+                                LeaveRequestRepository leaveRequestRepository,
+                                @Value("${app.attendance.cache.retained-months:3}") int retainedMonths,
+                                @Value("${app.attendance.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.attendanceRepository = attendanceRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.retainedMonths = Math.max(1, retainedMonths);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, ttlSeconds));
+    }
+
+    /**
+     * Reads are lock-free. Mutations take the slab monitor; a loader only installs an entry if no write for
+     * that employee was missed (arrived while the entry was absent) after the loader started reading.
+     */
+    private static final class MonthSlab {
+        final long createdAt = System.nanoTime();
+        final Map<Long, Long> days = new ConcurrentHashMap<>();
+        final Map<Long, Long> missedWrites = new HashMap<>();
+        long epoch;
+        long lastMissedWrite;
+        // When complete, an absent employee has no attendance and no leave in this month
+        volatile boolean complete;
+    }
+
+    // ---------------- Reads ----------------
+
+    public boolean isCached(YearMonth month) {
+        YearMonth current = YearMonth.now();
+        return !month.isAfter(current) && month.isAfter(current.minusMonths(retainedMonths));
+    }
+
+    public static AttendanceStatus statusOf(long bits, int dayOfMonth) {
+        return BY_CODE[(int) (bits >>> ((dayOfMonth - 1) * 2)) & 3];
+    }
+
+    /** Packed month for one employee; a miss loads just that employee's month (two indexed queries). */
+    public long monthBits(Long employeeId, YearMonth month) {
+        if (!isCached(month)) {
+            return loadEmployee(employeeId, month);
+        }
+        MonthSlab slab = slab(month);
+        Long bits = slab.days.get(employeeId);
+        if (bits != null) return bits;
+        if (slab.complete) return 0L;
+
+        long before;
+        synchronized (slab) {
+            before = slab.epoch;
+        }
+        long loaded = loadEmployee(employeeId, month);
+        synchronized (slab) {
+            if (slab.missedWrites.getOrDefault(employeeId, 0L) <= before) {
+                slab.days.putIfAbsent(employeeId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /** Loads every employee's month with two cursor scans so that later lookups never hit the database. */
+    @Transactional(readOnly = true)
+    public void ensureLoaded(YearMonth month) {
+        if (!isCached(month)) return;
+        MonthSlab slab = slab(month);
+        if (slab.complete) return;
+
+        long before;
+        synchronized (slab) {
+            before = slab.epoch;
+        }
+
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+        Map<Long, Long> loaded = new HashMap<>();
+        try (Stream<AttendanceDayView> rows = attendanceRepository.streamByDateBetween(start, end)) {
+            rows.forEach(row -> loaded.merge(row.getEmployeeId(),
+                    withStatus(0L, row.getDate().getDayOfMonth(), row.getStatus()),
+                    (a, b) -> a | b));
+        }
+        try (Stream<LeaveIntervalView> leaves = leaveRequestRepository.streamByStatusOverlapping(
+                LeaveRequest.LeaveStatus.APPROVED, start, end)) {
+            leaves.forEach(leave -> loaded.put(leave.getEmployeeId(),
+                    withLeave(loaded.getOrDefault(leave.getEmployeeId(), 0L), month,
+                            leave.getStartDate(), leave.getEndDate())));
+        }
+
+        synchronized (slab) {
+            loaded.forEach((employeeId, bits) -> {
+                if (slab.missedWrites.getOrDefault(employeeId, 0L) <= before) {
+                    slab.days.putIfAbsent(employeeId, bits);
+                }
+            });
+            if (slab.lastMissedWrite <= before) {
+                slab.complete = true;
+                slab.missedWrites.clear();
+            }
+        }
+    }
+
+    // ---------------- Write-through (applied after the surrounding transaction commits) ----------------
+
+    public void recordStatus(Long employeeId, LocalDate date, AttendanceStatus status) {
+        TransactionCallbacks.afterCommit(() -> update(employeeId, YearMonth.from(date),
+                bits -> withStatus(bits, date.getDayOfMonth(), status)));
+    }
+
+    public void recordLeave(Long employeeId, LocalDate from, LocalDate to) {
+        TransactionCallbacks.afterCommit(() -> {
+            for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+                YearMonth m = month;
+                update(employeeId, m, bits -> withLeave(bits, m, from, to));
+            }
+        });
+    }
+
+    /** Drops cached months of one employee that overlap [from, to]; they are reloaded on the next read. */
+    public void invalidate(Long employeeId, LocalDate from, LocalDate to) {
+        TransactionCallbacks.afterCommit(() -> {
+            for (YearMonth month = YearMonth.from(from); !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+                MonthSlab slab = months.get(month);
+                if (slab == null) continue;
+                synchronized (slab) {
+                    slab.days.remove(employeeId);
+                    missed(slab, employeeId);
+                }
+            }
+        });
+    }
+
+    public void evictEmployee(Long employeeId) {
+        TransactionCallbacks.afterCommit(() -> months.values().forEach(slab -> {
+            synchronized (slab) {
+                slab.days.remove(employeeId);
+            }
+        }));
+    }
+
+    private void update(Long employeeId, YearMonth month, LongUnaryOperator change) {
+        MonthSlab slab = months.get(month);
+        if (slab == null) return;
+        synchronized (slab) {
+            slab.epoch++;
+            Long bits = slab.days.get(employeeId);
+            if (bits != null || slab.complete) {
+                slab.days.put(employeeId, change.applyAsLong(bits == null ? 0L : bits));
+            } else {
+                missed(slab, employeeId);
+            }
+        }
+    }
+
+    // Caller holds the slab monitor
+    private void missed(MonthSlab slab, Long employeeId) {
+        slab.epoch++;
+        slab.missedWrites.put(employeeId, slab.epoch);
+        slab.lastMissedWrite = slab.epoch;
+        slab.complete = false;
+    }
+
+    // ---------------- Helpers ----------------
+
+    private MonthSlab slab(YearMonth month) {
+        YearMonth oldest = YearMonth.now().minusMonths(retainedMonths - 1L);
+        months.keySet().removeIf(m -> m.isBefore(oldest));
+        long now = System.nanoTime();
+        MonthSlab slab = months.get(month);
+        if (slab != null && !isExpired(slab, now)) return slab;
+        // An expired slab is replaced whole; loads still running against it install into the discarded copy
+        return months.compute(month, (m, current) -> current == null || isExpired(current, now) ? new MonthSlab() : current);
+    }
+
+    private boolean isExpired(MonthSlab slab, long now) {
+        return ttlNanos > 0 && now - slab.createdAt > ttlNanos;
+    }
+
+    private long loadEmployee(Long employeeId, YearMonth month) {
+        LocalDate start = month.atDay(1);
+        LocalDate end = month.atEndOfMonth();
+
+        long bits = 0L;
+        for (Attendance a : attendanceRepository.findByEmployee_IdAndDateBetween(employeeId, start, end)) {
+            bits = withStatus(bits, a.getDate().getDayOfMonth(), a.getStatus());
+        }
+        List<LeaveRequest> leaves = leaveRequestRepository
+                .findByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        employeeId, Collections.singletonList(LeaveRequest.LeaveStatus.APPROVED), end, start);
+        for (LeaveRequest leave : leaves) {
+            bits = withLeave(bits, month, leave.getStartDate(), leave.getEndDate());
+        }
+        return bits;
+    }
+
+    private static long withStatus(long bits, int dayOfMonth, AttendanceStatus status) {
+        int shift = (dayOfMonth - 1) * 2;
+        return (bits & ~(3L << shift)) | ((long) code(status) << shift);
+    }
+
+    private static long withLeave(long bits, YearMonth month, LocalDate from, LocalDate to) {
+        int first = from.isBefore(month.atDay(1)) ? 1 : from.getDayOfMonth();
+        int last = to.isAfter(month.atEndOfMonth()) ? month.lengthOfMonth() : to.getDayOfMonth();
+        for (int day = first; day <= last; day++) {
+            bits = withStatus(bits, day, AttendanceStatus.LEAVE);
+        }
+        return bits;
+    }
+
+    private static int code(AttendanceStatus status) {
+        return switch (status) {
+            case NOT_MARKED -> 0;
+            case PRESENT -> 1;
+            case ABSENT -> 2;
+            case LEAVE -> 3;
+        };
+    }
+}
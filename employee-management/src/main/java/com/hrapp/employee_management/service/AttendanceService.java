@@ -1,5 +1,8 @@
 package com.hrapp.employee_management.service;
 
+import com.hrapp.employee_management.dto.AttendanceDay;
+import com.hrapp.employee_management.dto.EmployeeAttendance;
+import com.hrapp.employee_management.exception.AttendanceAlreadyMarkedException;
 import com.hrapp.employee_management.model.Attendance;
 import com.hrapp.employee_management.model.AttendanceStatus;
 import com.hrapp.employee_management.model.LeaveRequest;
@@ -7,12 +10,17 @@ import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.repository.AttendanceRepository;
 import com.hrapp.employee_management.repository.LeaveRequestRepository;
 import com.hrapp.employee_management.repository.UserRepository;
+import com.hrapp.employee_management.repository.UserSummaryView;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class AttendanceService {
@@ -20,43 +28,54 @@ public class AttendanceService {
     private final AttendanceRepository attendanceRepository;
     private final LeaveRequestRepository leaveRequestRepository;
     private final UserRepository userRepository;
+    private final AttendanceMonthCache monthCache;
+    private final ApprovedLeaveIndex leaveIndex;
+    private final AttendanceSummaryService summaryService;
 
     public AttendanceService(AttendanceRepository attendanceRepository,
                              LeaveRequestRepository leaveRequestRepository,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             AttendanceMonthCache monthCache,
+                             ApprovedLeaveIndex leaveIndex,
+                             AttendanceSummaryService summaryService) {
         this.attendanceRepository = attendanceRepository;
         this.leaveRequestRepository = leaveRequestRepository;
         this.userRepository = userRepository;
+        this.monthCache = monthCache;
+        this.leaveIndex = leaveIndex;
+        this.summaryService = summaryService;
     }
 
+    /**
+     * Single-statement mark: the leave check and the duplicate check are folded into one conflict-aware
+     * INSERT, so concurrent clicks cannot both succeed. The extra lookups only run when nothing was inserted.
+     */
     @Transactional
-    public Attendance markAttendance(Long employeeId, LocalDate date, AttendanceStatus status) {
-        User employee = userRepository.findById(employeeId)
-                .orElseThrow(() -> new RuntimeException("Employee not found"));
-
-        boolean leaveApproved = !leaveRequestRepository
-                .findByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-                        employeeId,
-                        Collections.singletonList(LeaveRequest.LeaveStatus.APPROVED),
-                        date,
-                        date
-                ).isEmpty();
-
-
-        if (leaveApproved) {
-            throw new RuntimeException("Attendance cannot be marked. Approved leave exists for today.");
-        }
+    public Attendance markAttendance(User employee, LocalDate date, AttendanceStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Long> id = attendanceRepository.insertIfAbsent(employee.getId(), date, status.name(), now);
 
-        if (attendanceRepository.findByEmployee_IdAndDate(employeeId, date).isPresent()) {
-            throw new RuntimeException("Attendance already marked for today.");
+        if (id.isEmpty()) {
+            if (attendanceRepository.findByEmployee_IdAndDate(employee.getId(), date).isPresent()) {
+                throw new AttendanceAlreadyMarkedException("Attendance already marked for today.");
+            }
+            if (leaveIndex.covers(employee.getId(), date)) {
+                throw new RuntimeException("Attendance cannot be marked. Approved leave exists for today.");
+            }
+            throw new RuntimeException("Employee not found");
         }
 
         Attendance attendance = new Attendance();
+        attendance.setId(id.get());
         attendance.setEmployee(employee);
         attendance.setDate(date);
         attendance.setStatus(status);
+        attendance.setCreatedAt(now);
+        attendance.setUpdatedAt(now);
 
-        return attendanceRepository.save(attendance);
+        monthCache.recordStatus(employee.getId(), date, status);
+        summaryService.recordChange(employee.getId(), date, null, status);
+        return attendance;
     }
 
     @Transactional
@@ -72,66 +91,270 @@ public class AttendanceService {
                     return newAttendance;
                 });
 
+        AttendanceStatus previous = attendance.getStatus();
         attendance.setStatus(status);
         attendance.setReason(reason);
 
-        return attendanceRepository.save(attendance);
+        Attendance saved = attendanceRepository.save(attendance);
+        // Approved leave still wins over the overridden row when attendance is read back
+        if (leaveIndex.covers(employeeId, date)) {
+            monthCache.recordStatus(employeeId, date, AttendanceStatus.LEAVE);
+        } else {
+            monthCache.recordStatus(employeeId, date, status);
+            summaryService.recordChange(employeeId, date, previous, status);
+        }
+        return saved;
     }
 
-    public List<Map<String, Object>> getAttendanceByEmployee(Long employeeId) {
-        return buildAttendanceWithLeave(employeeId);
+    public static final int MAX_OVERRIDE_BATCH = 5000;
+
+    /**
+     * Applies many overrides in one transaction: employees, existing rows and approved leaves are read with
+     * one query each, and the inserts/updates go out as JDBC batches (see hibernate.jdbc.batch_size).
+     * Rows that cannot be applied are reported individually instead of failing the whole batch.
+     */
+    @Transactional
+    public List<OverrideResult> overrideAttendanceBatch(List<AttendanceOverride> overrides) {
+        if (overrides.size() > MAX_OVERRIDE_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_OVERRIDE_BATCH + " overrides per batch.");
+        }
+        List<OverrideResult> results = new ArrayList<>();
+        if (overrides.isEmpty()) return results;
+
+        Set<Long> employeeIds = new HashSet<>();
+        LocalDate from = overrides.get(0).date();
+        LocalDate to = from;
+        for (AttendanceOverride o : overrides) {
+            employeeIds.add(o.employeeId());
+            if (o.date().isBefore(from)) from = o.date();
+            if (o.date().isAfter(to)) to = o.date();
+        }
+
+        Map<Long, User> employees = new HashMap<>();
+        for (User user : userRepository.findAllById(employeeIds)) {
+            employees.put(user.getId(), user);
+        }
+        Map<Long, Map<LocalDate, Attendance>> existing = new HashMap<>();
+        for (Attendance a : attendanceRepository.findByEmployee_IdInAndDateBetween(employeeIds, from, to)) {
+            existing.computeIfAbsent(a.getEmployee().getId(), id -> new HashMap<>()).put(a.getDate(), a);
+        }
+        Map<Long, List<LeaveRequest>> leavesByEmployee = new HashMap<>();
+        for (LeaveRequest leave : leaveRequestRepository
+                .findByEmployeeIdInAndStatusAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        employeeIds, LeaveRequest.LeaveStatus.APPROVED, to, from)) {
+            leavesByEmployee.computeIfAbsent(leave.getEmployeeId(), id -> new ArrayList<>()).add(leave);
+        }
+        Map<Long, LeaveIntervals> leaves = new HashMap<>();
+        leavesByEmployee.forEach((id, list) -> leaves.put(id, LeaveIntervals.of(list)));
+
+        // Keyed by employee and date so a repeated pair in the same batch updates one row (last one wins)
+        Map<Long, Map<LocalDate, Attendance>> pending = new LinkedHashMap<>();
+        List<AttendanceSummaryService.StatusChange> changes = new ArrayList<>();
+        for (AttendanceOverride o : overrides) {
+            User employee = employees.get(o.employeeId());
+            if (employee == null) {
+                results.add(OverrideResult.failed(o, "Employee not found"));
+                continue;
+            }
+
+            Attendance attendance = pending.computeIfAbsent(o.employeeId(), id -> new HashMap<>()).get(o.date());
+            boolean created = false;
+            if (attendance == null) {
+                attendance = existing.getOrDefault(o.employeeId(), Collections.emptyMap()).get(o.date());
+            }
+            if (attendance == null) {
+                attendance = new Attendance();
+                attendance.setEmployee(employee);
+                attendance.setDate(o.date());
+                created = true;
+            }
+            AttendanceStatus previous = attendance.getStatus();
+            attendance.setStatus(o.status());
+            attendance.setReason(o.reason());
+            pending.get(o.employeeId()).put(o.date(), attendance);
+
+            boolean onLeave = leaves.getOrDefault(o.employeeId(), LeaveIntervals.empty()).covers(o.date());
+            monthCache.recordStatus(o.employeeId(), o.date(), onLeave ? AttendanceStatus.LEAVE : o.status());
+            if (!onLeave) {
+                changes.add(new AttendanceSummaryService.StatusChange(o.employeeId(), o.date(), previous, o.status()));
+            }
+            results.add(new OverrideResult(o.index(), o.employeeId(), o.date(), created ? "CREATED" : "UPDATED", null));
+        }
+
+        List<Attendance> toSave = new ArrayList<>();
+        pending.values().forEach(byDate -> toSave.addAll(byDate.values()));
+        attendanceRepository.saveAll(toSave);
+        summaryService.recordChanges(changes);
+        return results;
     }
 
-    public List<Map<String, Object>> getAllAttendance() {
-        return userRepository.findAll().stream()
-                .flatMap(user -> buildAttendanceWithLeave(user.getId(), true).stream())
-                .collect(Collectors.toList());
+    public record AttendanceOverride(int index, Long employeeId, LocalDate date, AttendanceStatus status,
+                                     String reason) {}
+
+    public record OverrideResult(int index, Long employeeId, LocalDate date, String outcome, String error) {
+        public static OverrideResult failed(int index, Long employeeId, LocalDate date, String error) {
+            return new OverrideResult(index, employeeId, date, "FAILED", error);
+        }
+
+        static OverrideResult failed(AttendanceOverride o, String error) {
+            return failed(o.index(), o.employeeId(), o.date(), error);
+        }
     }
 
-    private List<Map<String, Object>> buildAttendanceWithLeave(Long employeeId) {
-        return buildAttendanceWithLeave(employeeId, false);
+    public static final int DEFAULT_PAGE_DAYS = 31;
+    public static final int MAX_PAGE_DAYS = 366;
+
+    public List<AttendanceDay> getAttendanceByEmployee(Long employeeId) {
+        return getAttendanceByEmployee(employeeId, null, null, null, DEFAULT_PAGE_DAYS).items();
     }
 
-    // Admin version (today included even if not marked)
-    private List<Map<String, Object>> buildAttendanceWithLeave(Long employeeId, boolean showTodayForAdmin) {
-        LocalDate start = LocalDate.now().withDayOfMonth(1);
+    /**
+     * Range-bounded, keyset-paginated history for one employee. Pages are calendar days ordered by date;
+     * {@code after} is the last date of the previous page (the {@code nextCursor} it returned).
+     * Missing bounds default to the current month up to today.
+     */
+    public AttendancePage getAttendanceByEmployee(Long employeeId, LocalDate from, LocalDate to,
+                                                  LocalDate after, int limit) {
         LocalDate today = LocalDate.now();
+        if (to == null || to.isAfter(today)) to = today;
+        if (from == null) from = to.withDayOfMonth(1);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+        if (limit < 1 || limit > MAX_PAGE_DAYS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_PAGE_DAYS + ".");
+        }
 
-        List<Attendance> attendanceList = attendanceRepository.findByEmployee_Id(employeeId);
-        List<LeaveRequest> leaveList = leaveRequestRepository.findByEmployeeIdAndStatus(
-                employeeId, LeaveRequest.LeaveStatus.APPROVED);
+        LocalDate pageStart = (after != null && !after.isBefore(from)) ? after.plusDays(1) : from;
+        if (pageStart.isAfter(to)) {
+            return new AttendancePage(Collections.emptyList(), null);
+        }
+        LocalDate pageEnd = pageStart.plusDays(limit - 1L);
+        if (pageEnd.isAfter(to)) pageEnd = to;
 
-        Map<LocalDate, AttendanceStatus> records = new HashMap<>();
-        for (Attendance a : attendanceList) {
-            records.put(a.getDate(), a.getStatus());
+        List<AttendanceDay> items = buildAttendanceWithLeave(employeeId, pageStart, pageEnd, false);
+        return new AttendancePage(items, pageEnd.isBefore(to) ? pageEnd : null);
+    }
+
+    public record AttendancePage(List<AttendanceDay> items, LocalDate nextCursor) {}
+
+    // Statuses come from the month cache: one query for the users, none for attendance once the month is warm
+    public List<AttendanceDay> getAllAttendance() {
+        YearMonth month = YearMonth.now();
+        monthCache.ensureLoaded(month);
+
+        List<AttendanceDay> result = new ArrayList<>();
+        for (User user : userRepository.findAll()) {
+            currentMonthDays(user.getId(), user.getName(), user.getEmail(), month, result::add);
         }
-        for (LeaveRequest leave : leaveList) {
-            LocalDate d = leave.getStartDate();
-            while (!d.isAfter(leave.getEndDate())) {
-                records.put(d, AttendanceStatus.LEAVE);
-                d = d.plusDays(1);
-            }
+        return result;
+    }
+
+    // Same data as getAllAttendance, with employee metadata once per employee instead of once per day
+    public List<EmployeeAttendance> getAllAttendanceGrouped() {
+        YearMonth month = YearMonth.now();
+        monthCache.ensureLoaded(month);
+
+        List<EmployeeAttendance> result = new ArrayList<>();
+        for (User user : userRepository.findAll()) {
+            result.add(currentMonthGrouped(user.getId(), user.getName(), user.getEmail(), month));
         }
+        return result;
+    }
 
-        User employee = userRepository.findById(employeeId).orElse(null);
-        List<Map<String, Object>> result = new ArrayList<>();
+    /**
+     * Streaming version of {@link #getAllAttendance()}: users are read through an ordered cursor and
+     * their statuses are taken from the month cache, so only one employee's month is built at a time.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllAttendance(Consumer<AttendanceDay> sink) {
+        YearMonth month = YearMonth.now();
+        monthCache.ensureLoaded(month);
 
-        for (LocalDate date = start; !date.isAfter(today); date = date.plusDays(1)) {
-            if (date.equals(today) && !records.containsKey(date) && !showTodayForAdmin) continue;
+        try (Stream<UserSummaryView> users = userRepository.streamAllSummaries()) {
+            users.forEach(user -> currentMonthDays(user.getId(), user.getName(), user.getEmail(), month, sink));
+        }
+    }
 
-            Map<String, Object> map = new HashMap<>();
-            map.put("date", date);
-            map.put("status", records.getOrDefault(date, AttendanceStatus.NOT_MARKED));
+    @Transactional(readOnly = true)
+    public void streamAllAttendanceGrouped(Consumer<EmployeeAttendance> sink) {
+        YearMonth month = YearMonth.now();
+        monthCache.ensureLoaded(month);
 
-            if (employee != null) {
-                map.put("employeeId", employee.getId());
-                map.put("employeeName", employee.getName());
-                map.put("employeeEmail", employee.getEmail());
-            }
+        try (Stream<UserSummaryView> users = userRepository.streamAllSummaries()) {
+            users.forEach(user -> sink.accept(
+                    currentMonthGrouped(user.getId(), user.getName(), user.getEmail(), month)));
+        }
+    }
+
+    private void currentMonthDays(Long employeeId, String employeeName, String employeeEmail, YearMonth month,
+                                  Consumer<AttendanceDay> sink) {
+        long bits = monthCache.monthBits(employeeId, month);
+        buildDays(employeeId, employeeName, employeeEmail, date -> cachedStatus(bits, date),
+                month.atDay(1), LocalDate.now(), true, sink);
+    }
 
-            result.add(map);
+    private EmployeeAttendance currentMonthGrouped(Long employeeId, String employeeName, String employeeEmail,
+                                                   YearMonth month) {
+        long bits = monthCache.monthBits(employeeId, month);
+        AttendanceStatus[] days = new AttendanceStatus[LocalDate.now().getDayOfMonth()];
+        for (int day = 1; day <= days.length; day++) {
+            days[day - 1] = AttendanceMonthCache.statusOf(bits, day);
+        }
+        return new EmployeeAttendance(employeeId, employeeName, employeeEmail, month.atDay(1), days);
+    }
+
+    // Months inside the cache window are answered from memory; older ranges are read from the database
+    private List<AttendanceDay> buildAttendanceWithLeave(Long employeeId, LocalDate start, LocalDate end,
+                                                         boolean showTodayForAdmin) {
+        Function<LocalDate, AttendanceStatus> lookup;
+        if (monthCache.isCached(YearMonth.from(start)) && monthCache.isCached(YearMonth.from(end))) {
+            Map<YearMonth, Long> bitsByMonth = new HashMap<>();
+            lookup = date -> cachedStatus(bitsByMonth.computeIfAbsent(YearMonth.from(date),
+                    m -> monthCache.monthBits(employeeId, m)), date);
+        } else {
+            Map<LocalDate, AttendanceStatus> records = loadRecords(employeeId, start, end);
+            LeaveIntervals leaves = leaveIndex.forEmployee(employeeId);
+            lookup = date -> leaves.covers(date) ? AttendanceStatus.LEAVE : records.get(date);
         }
 
+        User employee = userRepository.findById(employeeId).orElse(null);
+        List<AttendanceDay> result = new ArrayList<>();
+        if (employee != null) {
+            buildDays(employee.getId(), employee.getName(), employee.getEmail(),
+                    lookup, start, end, showTodayForAdmin, result::add);
+        } else {
+            buildDays(null, null, null, lookup, start, end, showTodayForAdmin, result::add);
+        }
         return result;
     }
+
+    // Only [start, end] is read from the database, through the (employee_id, date) index
+    private Map<LocalDate, AttendanceStatus> loadRecords(Long employeeId, LocalDate start, LocalDate end) {
+        Map<LocalDate, AttendanceStatus> records = new HashMap<>();
+        for (Attendance a : attendanceRepository.findByEmployee_IdAndDateBetween(employeeId, start, end)) {
+            records.put(a.getDate(), a.getStatus());
+        }
+        return records;
+    }
+
+    // NOT_MARKED in the cache means "no record", which the lookup reports as null
+    private static AttendanceStatus cachedStatus(long bits, LocalDate date) {
+        AttendanceStatus status = AttendanceMonthCache.statusOf(bits, date.getDayOfMonth());
+        return status == AttendanceStatus.NOT_MARKED ? null : status;
+    }
+
+    // Admin version (today included even if not marked)
+    private void buildDays(Long employeeId, String employeeName, String employeeEmail,
+                           Function<LocalDate, AttendanceStatus> lookup, LocalDate start, LocalDate end,
+                           boolean showTodayForAdmin, Consumer<AttendanceDay> sink) {
+        LocalDate today = LocalDate.now();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            AttendanceStatus status = lookup.apply(date);
+            if (date.equals(today) && status == null && !showTodayForAdmin) continue;
+
+            sink.accept(new AttendanceDay(date, status != null ? status : AttendanceStatus.NOT_MARKED,
+                    employeeId, employeeName, employeeEmail));
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.Attendance;
+import com.hrapp.employee_management.model.AttendanceMonthlySummary;
+import com.hrapp.employee_management.model.AttendanceStatus;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.repository.AttendanceMonthlySummaryRepository;
+import com.hrapp.employee_management.repository.AttendanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the attendance_monthly_summary read model. Callers report every change of an employee-day's
+ * effective status in the same transaction as the write, so the counts commit or roll back with it.
+ */
+@Slf4j
+@Service
+public class AttendanceSummaryService {
+
+    private final AttendanceMonthlySummaryRepository summaryRepository;
+    private final AttendanceRepository attendanceRepository;
+
+    public AttendanceSummaryService(AttendanceMonthlySummaryRepository summaryRepository,
+                                    AttendanceRepository attendanceRepository) {
+        this.summaryRepository = summaryRepository;
+        this.attendanceRepository = attendanceRepository;
+    }
+
+    public List<AttendanceMonthlySummary> getMonthlySummary(YearMonth month) {
+        return summaryRepository.findByMonthStartOrderByEmployeeId(month.atDay(1));
+    }
+
+    /** {@code from}/{@code to} are effective statuses; null and NOT_MARKED both mean "not counted". */
+    @Transactional
+    public void recordChange(Long employeeId, LocalDate date, AttendanceStatus from, AttendanceStatus to) {
+        recordChanges(List.of(new StatusChange(employeeId, date, from, to)));
+    }
+
+    // Changes are summed per employee-month first, so a batch costs one upsert per employee-month
+    @Transactional
+    public void recordChanges(List<StatusChange> changes) {
+        Map<Long, Map<LocalDate, int[]>> deltas = new HashMap<>();
+        for (StatusChange change : changes) {
+            if (change.from() == change.to()) continue;
+            int[] delta = deltas.computeIfAbsent(change.employeeId(), id -> new TreeMap<>())
+                    .computeIfAbsent(change.date().withDayOfMonth(1), m -> new int[3]);
+            add(delta, change.to(), 1);
+            add(delta, change.from(), -1);
+        }
+        deltas.forEach((employeeId, byMonth) ->
+                byMonth.forEach((monthStart, delta) -> apply(employeeId, monthStart, delta)));
+    }
+
+    public record StatusChange(Long employeeId, LocalDate date, AttendanceStatus from, AttendanceStatus to) {}
+
+    // Each leave day becomes LEAVE and stops counting the attendance row it covers
+    @Transactional
+    public void recordLeaveApproved(Long employeeId, LocalDate start, LocalDate end) {
+        applyLeaves(List.of(new LeaveSpan(employeeId, start, end)), 1);
+    }
+
+    @Transactional
+    public void recordLeaveRevoked(Long employeeId, LocalDate start, LocalDate end) {
+        applyLeaves(List.of(new LeaveSpan(employeeId, start, end)), -1);
+    }
+
+    /** Batch form of {@link #recordLeaveApproved}: one attendance query and one upsert per employee-month. */
+    @Transactional
+    public void recordLeavesApproved(List<LeaveRequest> leaves) {
+        applyLeaves(leaves.stream()
+                .map(l -> new LeaveSpan(l.getEmployeeId(), l.getStartDate(), l.getEndDate()))
+                .toList(), 1);
+    }
+
+    @Transactional
+    public void deleteEmployee(Long employeeId) {
+        summaryRepository.deleteByEmployeeId(employeeId);
+    }
+
+    /** Recomputes the whole table from attendance and approved leaves in two set-based statements. */
+    @Transactional
+    public int rebuild() {
+        summaryRepository.deleteAllRows();
+        int rows = summaryRepository.insertRebuiltRows();
+        log.info("Attendance monthly summary rebuilt: {} rows", rows);
+        return rows;
+    }
+
+    private record LeaveSpan(Long employeeId, LocalDate start, LocalDate end) {
+        boolean covers(LocalDate date) {
+            return !date.isBefore(start) && !date.isAfter(end);
+        }
+    }
+
+    private void applyLeaves(List<LeaveSpan> leaves, int sign) {
+        if (leaves.isEmpty()) return;
+
+        Map<Long, Map<LocalDate, int[]>> deltas = new HashMap<>();
+        Map<Long, List<LeaveSpan>> byEmployee = new HashMap<>();
+        LocalDate from = leaves.get(0).start();
+        LocalDate to = leaves.get(0).end();
+        for (LeaveSpan leave : leaves) {
+            byEmployee.computeIfAbsent(leave.employeeId(), id -> new ArrayList<>()).add(leave);
+            if (leave.start().isBefore(from)) from = leave.start();
+            if (leave.end().isAfter(to)) to = leave.end();
+
+            Map<LocalDate, int[]> byMonth = deltas.computeIfAbsent(leave.employeeId(), id -> new TreeMap<>());
+            for (YearMonth month = YearMonth.from(leave.start()); !month.isAfter(YearMonth.from(leave.end())); month = month.plusMonths(1)) {
+                LocalDate monthFrom = leave.start().isBefore(month.atDay(1)) ? month.atDay(1) : leave.start();
+                LocalDate monthTo = leave.end().isAfter(month.atEndOfMonth()) ? month.atEndOfMonth() : leave.end();
+                byMonth.computeIfAbsent(month.atDay(1), m -> new int[3])[2] +=
+                        sign * (int) (ChronoUnit.DAYS.between(monthFrom, monthTo) + 1);
+            }
+        }
+
+        for (Attendance a : attendanceRepository.findByEmployee_IdInAndDateBetween(byEmployee.keySet(), from, to)) {
+            Long employeeId = a.getEmployee().getId();
+            for (LeaveSpan leave : byEmployee.get(employeeId)) {
+                if (!leave.covers(a.getDate())) continue;
+                add(deltas.get(employeeId).computeIfAbsent(a.getDate().withDayOfMonth(1), m -> new int[3]),
+                        a.getStatus(), -sign);
+            }
+        }
+        deltas.forEach((employeeId, byMonth) ->
+                byMonth.forEach((monthStart, delta) -> apply(employeeId, monthStart, delta)));
+    }
+
+    private void apply(Long employeeId, LocalDate monthStart, int[] delta) {
+        if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0) return;
+        summaryRepository.addCounts(employeeId, monthStart, delta[0], delta[1], delta[2]);
+    }
+
+    private static void add(int[] delta, AttendanceStatus status, int amount) {
+        if (status == null) return;
+        switch (status) {
+            case PRESENT -> delta[0] += amount;
+            case ABSENT -> delta[1] += amount;
+            case LEAVE -> delta[2] += amount;
+            case NOT_MARKED -> { }
+        }
+    }
+}
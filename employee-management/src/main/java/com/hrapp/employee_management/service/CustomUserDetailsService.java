@@ -4,32 +4,119 @@ import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.model.UserStatus;
 import com.hrapp.employee_management.repository.UserRepository;
 import com.hrapp.employee_management.security.CustomUserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.Authentication;
 
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Loads principals for authentication through a short-lived in-memory cache. {@link #evict} only clears this
+ * instance's cache: when several instances run, a deactivated, demoted or re-passworded user is still accepted
+ * by the others until their entry expires, so the TTL bounds how long such a change takes to apply everywhere.
+ */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // Principals by email, so authenticated requests don't each re-read the user row
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private record CachedPrincipal(CustomUserDetails details, long expiresAt) {}
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${app.security.principal-cache.ttl-seconds:10}") long ttlSeconds,
+                                    @Value("${app.security.principal-cache.max-size:10000}") int maxSize) {
         this.userRepository = userRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = ttlMillis > 0 ? principals.get(email) : null;
+        if (cached != null && cached.expiresAt() > now) {
+            hits.increment();
+            return cached.details();
+        }
+        misses.increment();
+
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         if (user.getStatus() == UserStatus.DEACTIVATED) {
+            principals.remove(email);
             throw new UsernameNotFoundException("Account is deactivated.");
         }
 
+        CustomUserDetails details = new CustomUserDetails(user);
+        if (ttlMillis > 0) {
+            if (principals.size() >= maxSize) trim(now);
+            principals.put(email, new CachedPrincipal(details, now + ttlMillis));
+        }
+        return details;
+    }
+
+    /**
+     * Called by the authentication provider after a successful login when the stored hash uses a lower
+     * BCrypt strength than the configured one; {@code newPassword} is already encoded.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        evict(user.getEmail());
         return new CustomUserDetails(user);
     }
 
+    /**
+     * Must be called whenever a user's email, role, status or password changes, or the user is deleted.
+     * The entry is dropped now and again after commit, so a read racing the write can't re-cache the old row.
+     * Other instances are not notified; their entries age out within the TTL.
+     */
+    public void evict(String email) {
+        if (email == null) return;
+        principals.remove(email);
+        TransactionCallbacks.afterCommit(() -> principals.remove(email));
+    }
+
+    public Map<String, Long> getCacheStats() {
+        return Map.of(
+                "size", (long) principals.size(),
+                "hits", hits.sum(),
+                "misses", misses.sum(),
+                "evictions", evictions.sum()
+        );
+    }
+
+    // Drops expired entries first; if the cache is still full, drops arbitrary entries down to 90%
+    private void trim(long now) {
+        principals.values().removeIf(p -> {
+            boolean expired = p.expiresAt() <= now;
+            if (expired) evictions.increment();
+            return expired;
+        });
+        Iterator<CachedPrincipal> it = principals.values().iterator();
+        while (principals.size() > maxSize * 9 / 10 && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
     public User getUserFromAuthentication(Authentication authentication) {
         if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails)) {
             throw new RuntimeException("Invalid authentication");
@@ -38,4 +125,3 @@ public class CustomUserDetailsService implements UserDetailsService {
     }
 
 }
-
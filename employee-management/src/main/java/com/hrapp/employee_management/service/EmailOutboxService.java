@@ -0,0 +1,175 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.OutboundEmail;
+import com.hrapp.employee_management.repository.OutboundEmailRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbound email is written to the {@code email_outbox} table and delivered by a small worker pool, so
+ * callers never wait on SMTP. Workers claim due rows in batches (one SMTP connection per batch) and failed
+ * messages are retried with exponential backoff until {@code app.mail.outbox.max-attempts}.
+ */
+@Slf4j
+@Service
+public class EmailOutboxService {
+
+    private final OutboundEmailRepository outboxRepository;
+    private final MailTransport transport;
+    private final ThreadPoolExecutor workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffSeconds;
+    private final long maxBackoffSeconds;
+    private final long staleClaimMinutes;
+    private final int retentionDays;
+
+    public EmailOutboxService(OutboundEmailRepository outboxRepository,
+                              MailTransport transport,
+                              @Value("${app.mail.outbox.workers:2}") int workerCount,
+                              @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                              @Value("${app.mail.outbox.max-attempts:8}") int maxAttempts,
+                              @Value("${app.mail.outbox.backoff-seconds:30}") long backoffSeconds,
+                              @Value("${app.mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                              @Value("${app.mail.outbox.stale-claim-minutes:10}") long staleClaimMinutes,
+                              @Value("${app.mail.outbox.retention-days:30}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.transport = transport;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffSeconds = backoffSeconds;
+        this.maxBackoffSeconds = maxBackoffSeconds;
+        this.staleClaimMinutes = staleClaimMinutes;
+        this.retentionDays = retentionDays;
+
+        // At most one queued drain per worker; extra wake-ups are dropped since a queued drain covers them
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount),
+                r -> {
+                    Thread t = new Thread(r, "mail-outbox-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /** Queues a message; it is handed to the workers once the surrounding transaction (if any) commits. */
+    public OutboundEmail enqueue(String to, String subject, String body, boolean html) {
+        OutboundEmail email = new OutboundEmail();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setHtml(html);
+        OutboundEmail saved = outboxRepository.save(email);
+        TransactionCallbacks.afterCommit(this::wake);
+        return saved;
+    }
+
+    // Picks up retries that have come due and anything queued while the workers were busy
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-ms:5000}")
+    public void poll() {
+        try {
+            int requeued = outboxRepository.requeueStale(LocalDateTime.now().minusMinutes(staleClaimMinutes));
+            if (requeued > 0) log.warn("⚠️ Requeued {} emails left in SENDING by a stopped worker", requeued);
+        } catch (Exception e) {
+            log.error("❌ Email outbox poll failed: {}", e.getMessage(), e);
+        }
+        wake();
+    }
+
+    // Bodies are already cleared; this drops the envelopes of mail finished more than retention-days ago
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeFinished() {
+        try {
+            int purged = outboxRepository.deleteFinishedBefore(LocalDateTime.now().minusDays(retentionDays));
+            if (purged > 0) log.info("✅ Purged {} sent or failed emails older than {} days", purged, retentionDays);
+        } catch (Exception e) {
+            log.error("❌ Email outbox purge failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (OutboundEmail.Status status : OutboundEmail.Status.values()) stats.put(status.name(), 0L);
+        for (Object[] row : outboxRepository.countByStatus()) stats.put(row[0].toString(), row[1]);
+        stats.put("activeWorkers", workers.getActiveCount());
+        stats.put("transport", transport.getStats());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void wake() {
+        if (!workers.isShutdown()) workers.execute(this::drainBatch);
+    }
+
+    private void drainBatch() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxRepository.claimDue(now, batchSize);
+            if (ids.isEmpty()) return;
+            // A full batch means there is probably more; let another worker claim the next one in parallel
+            if (ids.size() == batchSize) wake();
+
+            List<OutboundEmail> batch = outboxRepository.findAllById(ids);
+            Map<Long, Exception> failures = transport.send(batch);
+
+            List<Long> sent = new ArrayList<>(batch.size());
+            List<OutboundEmail> retries = new ArrayList<>();
+            LocalDateTime finished = LocalDateTime.now();
+            for (OutboundEmail email : batch) {
+                Exception failure = failures.get(email.getId());
+                if (failure == null) {
+                    sent.add(email.getId());
+                } else {
+                    retries.add(scheduleRetry(email, failure, finished));
+                }
+            }
+            if (!sent.isEmpty()) outboxRepository.markSent(sent, finished);
+            if (!retries.isEmpty()) outboxRepository.saveAll(retries);
+            log.info("📧 Email outbox batch: {} sent, {} failed", sent.size(), retries.size());
+        } catch (Exception e) {
+            // Claimed rows stay SENDING and are requeued by poll() once the claim goes stale
+            log.error("❌ Email outbox batch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private OutboundEmail scheduleRetry(OutboundEmail email, Exception failure, LocalDateTime now) {
+        String error = String.valueOf(failure.getMessage());
+        email.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(OutboundEmail.Status.FAILED);
+            // Never delivered, but the body may still hold a temporary password or a reset link
+            email.setBody("");
+            log.error("❌ Giving up on email {} to '{}' after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), error);
+            return email;
+        }
+        // Exponential backoff with up to 20% jitter, so a recovering server isn't hit by every retry at once
+        long delay = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(email.getAttempts() - 1, 20));
+        delay += ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+        email.setStatus(OutboundEmail.Status.PENDING);
+        email.setNextAttemptAt(now.plusSeconds(delay));
+        log.warn("⚠️ Email {} to '{}' failed (attempt {}), retrying in {}s: {}",
+                email.getId(), email.getRecipient(), email.getAttempts(), delay, error);
+        return email;
+    }
+}
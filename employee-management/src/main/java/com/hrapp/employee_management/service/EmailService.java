@@ -1,6 +1,9 @@
 package com.hrapp.employee_management.service;
 
+import com.hrapp.employee_management.dto.HrDigest;
+
 public interface EmailService {
     void sendWelcomeEmail(String name, String toEmail, String role, String tempPassword);
     void sendPasswordResetEmail(String email);
+    void sendHrDigest(String name, String toEmail, HrDigest digest);
 }
@@ -0,0 +1,197 @@
+package com.hrapp.employee_management.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Email templates from {@code classpath:templates/email}, parsed once at startup into literal/placeholder
+ * segments so rendering is a single append pass into a per-thread buffer.
+ * <p>
+ * Files are named {@code <name>[_<locale>].txt|html}; the first line is {@code Subject: ...}, then a blank
+ * line, then the body. Placeholders are {@code {{var}}}; values are HTML-escaped in {@code .html} templates.
+ * A locale falls back from {@code de_CH} to {@code de}, then to {@code app.mail.default-locale}, then to the
+ * unsuffixed file.
+ */
+@Slf4j
+@Service
+public class EmailTemplateService {
+
+    private static final String LOCATION = "classpath*:templates/email/*";
+    private static final String SUBJECT_PREFIX = "Subject:";
+    // Buffers that grew past this are not kept for reuse
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    public record RenderedEmail(String subject, String body, boolean html) {}
+
+    private record Key(String name, Locale locale) {}
+
+    private final Map<String, CompiledEmail> templates = new HashMap<>();
+    // Locales some template file is suffixed with; requested locales are clamped to these before caching
+    private final Set<Locale> loadedLocales = new HashSet<>();
+    private final Map<Key, CompiledEmail> resolved = new ConcurrentHashMap<>();
+    private final Locale defaultLocale;
+    private final String baseUrl;
+
+    public EmailTemplateService(@Value("${app.mail.default-locale:en}") String defaultLocale,
+                                @Value("${app.frontend.base-url:http://localhost:4200}") String baseUrl) {
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale.replace('_', '-'));
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    @PostConstruct
+    public void load() throws IOException {
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String file = resource.getFilename();
+            if (file == null) continue;
+            int dot = file.lastIndexOf('.');
+            if (dot <= 0) continue;
+            String extension = file.substring(dot + 1);
+            if (!extension.equals("txt") && !extension.equals("html")) continue;
+
+            String source;
+            try (InputStream in = resource.getInputStream()) {
+                source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            String key = file.substring(0, dot);
+            if (templates.put(key, CompiledEmail.parse(file, source, extension.equals("html"))) != null) {
+                throw new IllegalStateException("Duplicate email template " + key);
+            }
+            int underscore = key.indexOf('_');
+            if (underscore > 0) {
+                loadedLocales.add(Locale.forLanguageTag(key.substring(underscore + 1).replace('_', '-')));
+            }
+        }
+        log.info("✅ Loaded {} email templates: {}", templates.size(), templates.keySet());
+    }
+
+    public Locale getDefaultLocale() {
+        return defaultLocale;
+    }
+
+    /** Absolute frontend URL for {@code path} (e.g. "/reset-password"), from {@code app.frontend.base-url}. */
+    public String url(String path) {
+        return baseUrl + (path.startsWith("/") ? path : "/" + path);
+    }
+
+    public RenderedEmail render(String name, Locale locale, Map<String, String> values) {
+        CompiledEmail template = resolved.computeIfAbsent(new Key(name, clamp(locale)), this::resolve);
+        return new RenderedEmail(template.subject.render(values, false),
+                template.body.render(values, template.html), template.html);
+    }
+
+    // Any locale without a file of its own resolves like the default, so the cache holds at most one entry
+    // per template and loaded locale, whatever callers pass in
+    private Locale clamp(Locale locale) {
+        if (locale == null) return defaultLocale;
+        Locale country = Locale.of(locale.getLanguage(), locale.getCountry());
+        if (loadedLocales.contains(country)) return country;
+        Locale language = Locale.of(locale.getLanguage());
+        return loadedLocales.contains(language) ? language : defaultLocale;
+    }
+
+    private CompiledEmail resolve(Key key) {
+        List<String> candidates = new ArrayList<>();
+        for (Locale locale : new Locale[]{key.locale(), defaultLocale}) {
+            if (!locale.getCountry().isEmpty()) candidates.add(key.name() + "_" + locale.getLanguage() + "_" + locale.getCountry());
+            if (!locale.getLanguage().isEmpty()) candidates.add(key.name() + "_" + locale.getLanguage());
+        }
+        candidates.add(key.name());
+        for (String candidate : candidates) {
+            CompiledEmail template = templates.get(candidate);
+            if (template != null) return template;
+        }
+        throw new IllegalStateException("No email template named '" + key.name() + "'");
+    }
+
+    private record CompiledEmail(Template subject, Template body, boolean html) {
+
+        static CompiledEmail parse(String file, String source, boolean html) {
+            int newline = source.indexOf('\n');
+            String firstLine = newline < 0 ? source : source.substring(0, newline);
+            if (!firstLine.startsWith(SUBJECT_PREFIX)) {
+                throw new IllegalStateException("Email template " + file + " must start with '" + SUBJECT_PREFIX + "'");
+            }
+            String body = newline < 0 ? "" : source.substring(newline + 1).replace("\r\n", "\n");
+            if (body.startsWith("\n")) body = body.substring(1);
+            if (body.endsWith("\n")) body = body.substring(0, body.length() - 1);
+            return new CompiledEmail(Template.compile(file, firstLine.substring(SUBJECT_PREFIX.length()).trim()),
+                    Template.compile(file, body), html);
+        }
+    }
+
+    // literals[i] is followed by the value of names[i]; there is always one more literal than names
+    private record Template(String file, String[] literals, String[] names, int sizeHint) {
+
+        static Template compile(String file, String source) {
+            List<String> literals = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            int pos = 0;
+            while (true) {
+                int open = source.indexOf("{{", pos);
+                if (open < 0) break;
+                int close = source.indexOf("}}", open + 2);
+                if (close < 0) throw new IllegalStateException("Unclosed placeholder in email template " + file);
+                literals.add(source.substring(pos, open));
+                names.add(source.substring(open + 2, close).trim());
+                pos = close + 2;
+            }
+            literals.add(source.substring(pos));
+            return new Template(file, literals.toArray(new String[0]), names.toArray(new String[0]),
+                    source.length() + 64 * names.size());
+        }
+
+        String render(Map<String, String> values, boolean escapeHtml) {
+            if (names.length == 0) return literals[0];
+            StringBuilder out = BUFFER.get();
+            out.setLength(0);
+            out.ensureCapacity(sizeHint);
+            try {
+                for (int i = 0; i < names.length; i++) {
+                    out.append(literals[i]);
+                    String value = values.get(names[i]);
+                    if (value == null) {
+                        throw new IllegalArgumentException("Missing value '" + names[i] + "' for email template " + file);
+                    }
+                    if (escapeHtml) appendEscaped(out, value);
+                    else out.append(value);
+                }
+                out.append(literals[names.length]);
+                return out.toString();
+            } finally {
+                if (out.capacity() > MAX_RETAINED_BUFFER) BUFFER.remove();
+            }
+        }
+
+        private static void appendEscaped(StringBuilder out, String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '<' -> out.append("&lt;");
+                    case '>' -> out.append("&gt;");
+                    case '&' -> out.append("&amp;");
+                    case '"' -> out.append("&quot;");
+                    case '\'' -> out.append("&#39;");
+                    default -> out.append(c);
+                }
+            }
+        }
+    }
+}
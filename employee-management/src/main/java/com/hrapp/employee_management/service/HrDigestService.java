@@ -0,0 +1,107 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.dto.HrDigest;
+import com.hrapp.employee_management.model.LeaveType;
+import com.hrapp.employee_management.model.NotificationWatermark;
+import com.hrapp.employee_management.model.User;
+import com.hrapp.employee_management.model.UserStatus;
+import com.hrapp.employee_management.repository.HrDigestRowView;
+import com.hrapp.employee_management.repository.LeaveRequestRepository;
+import com.hrapp.employee_management.repository.NotificationWatermarkRepository;
+import com.hrapp.employee_management.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One digest mail per active HR/admin user instead of a mail per event. Each run reports the window between
+ * the stored high-water mark and now; the mark is advanced (compare-and-set) in the same transaction that
+ * queues the mails, so a rerun or a concurrent instance finds nothing left to send.
+ */
+@Slf4j
+@Service
+public class HrDigestService {
+
+    private static final String WATERMARK = "hr-digest";
+    private static final List<String> RECIPIENT_ROLES = List.of("HR", "ADMIN");
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final NotificationWatermarkRepository watermarkRepository;
+    private final UserRepository userRepository;
+    private final EmailService emailService;
+    private final long lagSeconds;
+
+    public HrDigestService(LeaveRequestRepository leaveRequestRepository,
+                           NotificationWatermarkRepository watermarkRepository,
+                           UserRepository userRepository,
+                           EmailService emailService,
+                           @Value("${app.notifications.hr-digest.lag-seconds:60}") long lagSeconds) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.userRepository = userRepository;
+        this.emailService = emailService;
+        this.lagSeconds = lagSeconds;
+    }
+
+    /**
+     * Returns the number of recipients mailed. The window ends {@code lag-seconds} in the past so rows from
+     * transactions still in flight land in the next window instead of being skipped.
+     */
+    @Transactional
+    public int sendDigest() {
+        LocalDateTime to = LocalDateTime.now().minusSeconds(lagSeconds).truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime from = watermarkRepository.findById(WATERMARK)
+                .map(NotificationWatermark::getWatermark)
+                .orElse(null);
+        if (from != null && !to.isAfter(from)) return 0;
+
+        // Claim the window first; if another run got there, stop before anything is queued
+        boolean claimed = from == null
+                ? watermarkRepository.create(WATERMARK, to) == 1
+                : watermarkRepository.advance(WATERMARK, from, to) == 1;
+        if (!claimed) {
+            log.info("HR digest up to {} already sent by another run", to);
+            return 0;
+        }
+        if (from == null) from = to.minusDays(1);
+
+        HrDigest digest = summarize(from, to);
+        if (digest.isEmpty()) {
+            log.info("✅ HR digest {} – {}: nothing new, no mail sent", from, to);
+            return 0;
+        }
+
+        List<User> recipients = userRepository.findByRoleInAndStatus(RECIPIENT_ROLES, UserStatus.ACTIVE);
+        for (User recipient : recipients) {
+            emailService.sendHrDigest(recipient.getName(), recipient.getEmail(), digest);
+        }
+        log.info("✅ HR digest {} – {} queued for {} recipients", from, to, recipients.size());
+        return recipients.size();
+    }
+
+    private HrDigest summarize(LocalDateTime from, LocalDateTime to) {
+        Map<LeaveType, Long> newPending = new EnumMap<>(LeaveType.class);
+        long openPending = 0, absent = 0, notMarked = 0, employees = 0;
+        for (HrDigestRowView row : leaveRequestRepository.summarizeForDigest(from, to)) {
+            long total = row.getTotal();
+            switch (row.getCategory()) {
+                case "NEW_PENDING" -> newPending.merge(LeaveType.valueOf(row.getLabel()), total, Long::sum);
+                case "OPEN_PENDING" -> openPending = total;
+                case "ANOMALY" -> {
+                    if ("ABSENT".equals(row.getLabel())) absent = total;
+                    else notMarked = total;
+                }
+                case "ANOMALY_EMPLOYEES" -> employees = total;
+                default -> { }
+            }
+        }
+        return new HrDigest(from, to, newPending, openPending, absent, notMarked, employees);
+    }
+}
@@ -0,0 +1,77 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.LeaveRequest;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of leave days for one employee, kept as sorted, non-overlapping ranges of epoch days.
+ * Overlapping and adjacent leaves are merged, so {@link #covers(LocalDate)} is a single binary search.
+ */
+public final class LeaveIntervals {
+
+    private static final LeaveIntervals EMPTY = new LeaveIntervals(new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+
+    private LeaveIntervals(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static LeaveIntervals empty() {
+        return EMPTY;
+    }
+
+    public static LeaveIntervals of(Collection<LeaveRequest> leaves) {
+        long[][] ranges = new long[leaves.size()][];
+        int i = 0;
+        for (LeaveRequest leave : leaves) {
+            ranges[i++] = new long[]{leave.getStartDate().toEpochDay(), leave.getEndDate().toEpochDay()};
+        }
+        return merge(ranges);
+    }
+
+    public boolean covers(LocalDate date) {
+        long day = date.toEpochDay();
+        int i = Arrays.binarySearch(starts, day);
+        if (i >= 0) return true;
+        int insertion = -i - 1;
+        return insertion > 0 && ends[insertion - 1] >= day;
+    }
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    public LeaveIntervals with(LocalDate start, LocalDate end) {
+        long[][] ranges = new long[starts.length + 1][];
+        for (int i = 0; i < starts.length; i++) {
+            ranges[i] = new long[]{starts[i], ends[i]};
+        }
+        ranges[starts.length] = new long[]{start.toEpochDay(), end.toEpochDay()};
+        return merge(ranges);
+    }
+
+    private static LeaveIntervals merge(long[][] ranges) {
+        if (ranges.length == 0) return EMPTY;
+        Arrays.sort(ranges, (a, b) -> Long.compare(a[0], b[0]));
+
+        long[] starts = new long[ranges.length];
+        long[] ends = new long[ranges.length];
+        int n = 0;
+        for (long[] range : ranges) {
+            if (n > 0 && range[0] <= ends[n - 1] + 1) {
+                ends[n - 1] = Math.max(ends[n - 1], range[1]);
+            } else {
+                starts[n] = range[0];
+                ends[n] = range[1];
+                n++;
+            }
+        }
+        return new LeaveIntervals(Arrays.copyOf(starts, n), Arrays.copyOf(ends, n));
+    }
+}
@@ -0,0 +1,198 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.LeaveBalance;
+import com.hrapp.employee_management.model.LeaveLedgerEntry;
+import com.hrapp.employee_management.model.LeaveLedgerEntry.EntryType;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.model.LeaveRequest.LeaveStatus;
+import com.hrapp.employee_management.model.LeaveType;
+import com.hrapp.employee_management.repository.LeaveBalanceRepository;
+import com.hrapp.employee_management.repository.LeaveLedgerRepository;
+import com.hrapp.employee_management.repository.LeaveLedgerMarkerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leave entitlements as an append-only ledger plus a running balance per employee and leave type. Every
+ * ledger entry is applied to the balance as a delta in the same transaction, so reading or checking a
+ * balance is a single-row lookup and never sums the history.
+ */
+@Slf4j
+@Service
+public class LeaveLedgerService {
+
+    static final String BACKFILL_MARKER = "leave_ledger_backfill";
+
+    private final LeaveLedgerRepository ledgerRepository;
+    private final LeaveBalanceRepository balanceRepository;
+    private final LeaveLedgerMarkerRepository markerRepository;
+    private final Map<LeaveType, Integer> monthlyAccrual = new EnumMap<>(LeaveType.class);
+    private final boolean enforceBalance;
+    // Balances mean nothing until existing requests are in the ledger, so enforcement waits for the backfill
+    private volatile boolean seeded;
+
+    public LeaveLedgerService(LeaveLedgerRepository ledgerRepository,
+                              LeaveBalanceRepository balanceRepository,
+                              LeaveLedgerMarkerRepository markerRepository,
+                              @Value("${app.leave.accrual.annual-days:2}") int annualDays,
+                              @Value("${app.leave.accrual.sick-days:1}") int sickDays,
+                              @Value("${app.leave.balance.enforce:true}") boolean enforceBalance) {
+        this.ledgerRepository = ledgerRepository;
+        this.balanceRepository = balanceRepository;
+        this.markerRepository = markerRepository;
+        this.monthlyAccrual.put(LeaveType.ANNUAL, annualDays);
+        this.monthlyAccrual.put(LeaveType.SICK, sickDays);
+        this.enforceBalance = enforceBalance;
+    }
+
+    // ---------------- Reads ----------------
+
+    public List<LeaveBalance> getBalances(Long employeeId) {
+        return balanceRepository.findByEmployeeIdOrderByLeaveType(employeeId);
+    }
+
+    public List<LeaveLedgerEntry> getLedger(Long employeeId) {
+        return ledgerRepository.findByEmployeeIdOrderByIdAsc(employeeId);
+    }
+
+    /** Available days are the balance minus what PENDING requests already reserve. */
+    public void checkAvailable(LeaveRequest leave) {
+        if (!enforceBalance || !seeded || !leave.getLeaveType().isTracked()) return;
+
+        int available = balanceRepository.findByEmployeeIdAndLeaveType(leave.getEmployeeId(), leave.getLeaveType())
+                .map(LeaveBalance::getAvailableDays)
+                .orElse(0);
+        if (leave.getDays() > available) {
+            throw new IllegalArgumentException("Insufficient " + leave.getLeaveType() + " leave balance: "
+                    + leave.getDays() + " days requested, " + available + " available.");
+        }
+    }
+
+    // ---------------- Writes ----------------
+
+    @Transactional
+    public void recordTransition(LeaveRequest leave, LeaveStatus previous, LeaveStatus next) {
+        recordTransitions(List.of(leave), previous, next);
+    }
+
+    /**
+     * Moves leaving a status give back what it held (PENDING releases its reservation, APPROVED is reversed);
+     * moves into a status take it (PENDING reserves, APPROVED consumes). Deltas are summed per employee and
+     * type, so a batch costs one balance upsert per pair plus one batched ledger insert.
+     */
+    @Transactional
+    public void recordTransitions(List<LeaveRequest> leaves, LeaveStatus previous, LeaveStatus next) {
+        if (previous == next) return;
+
+        List<LeaveLedgerEntry> entries = new ArrayList<>();
+        Map<Long, Map<LeaveType, int[]>> deltas = new HashMap<>();
+        for (LeaveRequest leave : leaves) {
+            if (!leave.getLeaveType().isTracked()) continue;
+            int days = leave.getDays();
+            int[] delta = deltas.computeIfAbsent(leave.getEmployeeId(), id -> new EnumMap<>(LeaveType.class))
+                    .computeIfAbsent(leave.getLeaveType(), t -> new int[2]);
+
+            if (previous == LeaveStatus.PENDING) delta[1] -= days;
+            if (previous == LeaveStatus.APPROVED) {
+                delta[0] += days;
+                entries.add(entry(leave, EntryType.REVERSAL, days, "Leave " + next.name().toLowerCase()));
+            }
+            if (next == LeaveStatus.PENDING) delta[1] += days;
+            if (next == LeaveStatus.APPROVED) {
+                delta[0] -= days;
+                entries.add(entry(leave, EntryType.CONSUMPTION, -days, "Leave approved"));
+            }
+        }
+
+        ledgerRepository.saveAll(entries);
+        deltas.forEach((employeeId, byType) -> byType.forEach((type, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                balanceRepository.addDays(employeeId, type.name(), delta[0], delta[1]);
+            }
+        }));
+    }
+
+    @Transactional
+    public LeaveLedgerEntry adjust(Long employeeId, LeaveType leaveType, int days, String note) {
+        if (!leaveType.isTracked()) {
+            throw new IllegalArgumentException(leaveType + " leave has no balance.");
+        }
+        if (days == 0) {
+            throw new IllegalArgumentException("Adjustment must not be zero.");
+        }
+
+        LeaveLedgerEntry entry = new LeaveLedgerEntry();
+        entry.setEmployeeId(employeeId);
+        entry.setLeaveType(leaveType);
+        entry.setEntryType(EntryType.ADJUSTMENT);
+        entry.setDays(days);
+        entry.setNote(note);
+        LeaveLedgerEntry saved = ledgerRepository.save(entry);
+        balanceRepository.addDays(employeeId, leaveType.name(), days, 0);
+        return saved;
+    }
+
+    // Rerunning for the same month credits nobody twice
+    @Transactional
+    public int accrue(YearMonth month) {
+        LocalDate period = month.atDay(1);
+        int credited = 0;
+        for (Map.Entry<LeaveType, Integer> accrual : monthlyAccrual.entrySet()) {
+            if (accrual.getValue() <= 0) continue;
+            credited += balanceRepository.accrue(accrual.getKey().name(), accrual.getValue(), period);
+        }
+        log.info("✅ Leave accrual for {}: {} balances credited", month, credited);
+        return credited;
+    }
+
+    /**
+     * One-time seeding for leave requested before the ledger existed: each APPROVED request gets its CONSUMPTION
+     * entry and each PENDING one its reservation, funded by an opening ADJUSTMENT of the same size, so approving an
+     * old request can't go negative and reversing one gives back only what was consumed. The current month's
+     * accrual is credited too, so nobody starts from zero once balances are enforced. The marker row is inserted
+     * in the same transaction, so the backfill runs exactly once even with several instances starting; balance
+     * enforcement starts once it has run here or elsewhere.
+     */
+    @Transactional
+    public boolean backfillFromHistory() {
+        boolean first = markerRepository.create(BACKFILL_MARKER, LocalDateTime.now()) == 1;
+        if (first) {
+            int opening = ledgerRepository.insertOpeningEntries();
+            int consumed = ledgerRepository.insertHistoricConsumption();
+            int balances = balanceRepository.seedFromHistory();
+            log.info("✅ Leave ledger backfill: {} opening entries, {} approved leaves, {} balances seeded",
+                    opening, consumed, balances);
+            accrue(YearMonth.now());
+        }
+        TransactionCallbacks.afterCommit(() -> seeded = true);
+        return first;
+    }
+
+    @Transactional
+    public void deleteEmployee(Long employeeId) {
+        ledgerRepository.deleteByEmployeeId(employeeId);
+        balanceRepository.deleteByEmployeeId(employeeId);
+    }
+
+    private static LeaveLedgerEntry entry(LeaveRequest leave, EntryType type, int days, String note) {
+        LeaveLedgerEntry entry = new LeaveLedgerEntry();
+        entry.setEmployeeId(leave.getEmployeeId());
+        entry.setLeaveType(leave.getLeaveType());
+        entry.setEntryType(type);
+        entry.setDays(days);
+        entry.setLeaveRequestId(leave.getId());
+        entry.setNote(note);
+        return entry;
+    }
+}
@@ -3,22 +3,47 @@ package com.hrapp.employee_management.service;
 import com.hrapp.employee_management.model.LeaveRequest;
 import com.hrapp.employee_management.model.LeaveRequest.LeaveStatus;
 import com.hrapp.employee_management.repository.LeaveRequestRepository;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class LeaveRequestService {
 
     private final LeaveRequestRepository leaveRequestRepository;
-
-    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository) {
+    private final AttendanceMonthCache monthCache;
+    private final ApprovedLeaveIndex leaveIndex;
+    private final AttendanceSummaryService summaryService;
+    private final LeaveLedgerService ledgerService;
+
+    public LeaveRequestService(LeaveRequestRepository leaveRequestRepository,
+                               AttendanceMonthCache monthCache,
+                               ApprovedLeaveIndex leaveIndex,
+                               AttendanceSummaryService summaryService,
+                               LeaveLedgerService ledgerService) {
         this.leaveRequestRepository = leaveRequestRepository;
+        this.monthCache = monthCache;
+        this.leaveIndex = leaveIndex;
+        this.summaryService = summaryService;
+        this.ledgerService = ledgerService;
     }
 
+    @Transactional
     public LeaveRequest applyLeave(LeaveRequest leaveRequest) {
         LocalDate today = LocalDate.now();
 
@@ -30,20 +55,14 @@ public class LeaveRequestService {
             throw new IllegalArgumentException("End date cannot be before start date.");
         }
 
-        List<LeaveRequest> overlappingLeaves = leaveRequestRepository
-                .findByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
-                        leaveRequest.getEmployeeId(),
-                        Arrays.asList(LeaveStatus.APPROVED, LeaveStatus.PENDING),
-                        leaveRequest.getEndDate(),
-                        leaveRequest.getStartDate()
-                );
-
-        if (!overlappingLeaves.isEmpty()) {
-            throw new IllegalArgumentException("Overlapping leave request already exists.");
-        }
+        lockAndCheckOverlap(leaveRequest.getEmployeeId(), leaveRequest.getStartDate(), leaveRequest.getEndDate(), null);
+        // Still under the employee lock, so two requests can't both reserve the same days
+        ledgerService.checkAvailable(leaveRequest);
 
         leaveRequest.setStatus(LeaveStatus.PENDING);
-        return leaveRequestRepository.save(leaveRequest);
+        LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+        ledgerService.recordTransition(saved, null, LeaveStatus.PENDING);
+        return saved;
     }
 
     public List<LeaveRequest> getEmployeeLeavesByUsername(String username) {
@@ -62,12 +81,173 @@ public class LeaveRequestService {
         return leaveRequestRepository.findByStatus(status);
     }
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Filtered, keyset-paginated leave listing ordered by (startDate, id). Every filter is optional;
+     * {@code from}/{@code to} keep leaves overlapping that range. {@code after} is the {@code nextCursor}
+     * returned with the previous page.
+     */
+    public LeavePage searchLeaves(LeaveStatus status, Long employeeId, LocalDate from, LocalDate to,
+                                  String after, int limit, boolean descending) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        List<Specification<LeaveRequest>> filters = new ArrayList<>();
+        if (status != null) filters.add((root, query, cb) -> cb.equal(root.get("status"), status));
+        if (employeeId != null) filters.add((root, query, cb) -> cb.equal(root.get("employeeId"), employeeId));
+        if (to != null) filters.add((root, query, cb) -> cb.lessThanOrEqualTo(root.get("startDate"), to));
+        if (from != null) filters.add((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("endDate"), from));
+        if (after != null) filters.add(afterCursor(after, descending));
+
+        Sort.Direction direction = descending ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, "startDate").and(Sort.by(direction, "id"));
+
+        // One extra row tells whether another page exists without a count query
+        List<LeaveRequest> rows = leaveRequestRepository.findBy(Specification.allOf(filters),
+                q -> q.sortBy(sort).limit(limit + 1).all());
+        if (rows.size() <= limit) {
+            return new LeavePage(rows, null);
+        }
+        List<LeaveRequest> items = rows.subList(0, limit);
+        LeaveRequest last = items.get(limit - 1);
+        return new LeavePage(items, last.getStartDate() + CURSOR_SEPARATOR + last.getId());
+    }
+
+    public record LeavePage(List<LeaveRequest> items, String nextCursor) {}
+
+    private static final String CURSOR_SEPARATOR = "_";
+
+    // Rows strictly after (startDate, id) in the requested direction
+    private static Specification<LeaveRequest> afterCursor(String cursor, boolean descending) {
+        LocalDate startDate;
+        long id;
+        try {
+            int split = cursor.indexOf(CURSOR_SEPARATOR);
+            startDate = LocalDate.parse(cursor.substring(0, split));
+            id = Long.parseLong(cursor.substring(split + 1));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return (root, query, cb) -> {
+            Path<LocalDate> start = root.get("startDate");
+            Path<Long> leaveId = root.get("id");
+            return descending
+                    ? cb.or(cb.lessThan(start, startDate),
+                            cb.and(cb.equal(start, startDate), cb.lessThan(leaveId, id)))
+                    : cb.or(cb.greaterThan(start, startDate),
+                            cb.and(cb.equal(start, startDate), cb.greaterThan(leaveId, id)));
+        };
+    }
+
+    /**
+     * The row is locked before its current status is read, so a concurrent decision on the same request waits
+     * and then sees this one's outcome; ledger, cache and summary effects apply only to a real transition.
+     */
+    @Transactional
     public Optional<LeaveRequest> updateLeaveStatus(Long id, LeaveStatus status) {
-        Optional<LeaveRequest> leaveOpt = leaveRequestRepository.findById(id);
+        Optional<LeaveRequest> leaveOpt = leaveRequestRepository.findByIdForUpdate(id);
         leaveOpt.ifPresent(leave -> {
+            LeaveStatus previous = leave.getStatus();
+            if (previous == status) return;
+            // A rejected leave coming back must not overlap what was requested in the meantime
+            if (previous == LeaveStatus.REJECTED && status != LeaveStatus.REJECTED) {
+                lockAndCheckOverlap(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate(), leave.getId());
+                ledgerService.checkAvailable(leave);
+            }
             leave.setStatus(status);
             leaveRequestRepository.save(leave);
+            ledgerService.recordTransition(leave, previous, status);
+
+            if (status == LeaveStatus.APPROVED && previous != LeaveStatus.APPROVED) {
+                monthCache.recordLeave(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate());
+                leaveIndex.recordApproval(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate());
+                summaryService.recordLeaveApproved(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate());
+            } else if (previous == LeaveStatus.APPROVED && status != LeaveStatus.APPROVED) {
+                // The days fall back to whatever attendance rows exist, so they are reloaded
+                monthCache.invalidate(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate());
+                leaveIndex.invalidate(leave.getEmployeeId());
+                summaryService.recordLeaveRevoked(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate());
+            }
         });
         return leaveOpt;
     }
+
+    public static final int MAX_DECISION_BATCH = 1000;
+
+    /**
+     * Approves or rejects many PENDING requests with one UPDATE. Ids that are unknown or no longer pending are
+     * reported per id and left untouched. Cache, index and summary updates run once for the whole batch.
+     */
+    @Transactional
+    public List<LeaveDecisionResult> decideLeaves(Collection<Long> ids, LeaveStatus status) {
+        if (status == LeaveStatus.PENDING) {
+            throw new IllegalArgumentException("Bulk decisions must be APPROVED or REJECTED.");
+        }
+        if (ids.size() > MAX_DECISION_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_DECISION_BATCH + " leave requests per batch.");
+        }
+        if (ids.isEmpty()) return Collections.emptyList();
+
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Set<Long> updated = new HashSet<>(leaveRequestRepository.decidePending(requested, status.name()));
+
+        Map<Long, LeaveRequest> found = new HashMap<>();
+        for (LeaveRequest leave : leaveRequestRepository.findAllById(requested)) {
+            found.put(leave.getId(), leave);
+        }
+
+        List<LeaveDecisionResult> results = new ArrayList<>(requested.size());
+        List<LeaveRequest> decided = new ArrayList<>();
+        List<LeaveRequest> approved = new ArrayList<>();
+        for (Long id : requested) {
+            LeaveRequest leave = found.get(id);
+            if (leave == null) {
+                results.add(new LeaveDecisionResult(id, "NOT_FOUND", null));
+            } else if (updated.contains(id)) {
+                results.add(new LeaveDecisionResult(id, "UPDATED", leave.getStatus()));
+                decided.add(leave);
+                if (status == LeaveStatus.APPROVED) approved.add(leave);
+            } else {
+                results.add(new LeaveDecisionResult(id, "SKIPPED_NOT_PENDING", leave.getStatus()));
+            }
+        }
+
+        ledgerService.recordTransitions(decided, LeaveStatus.PENDING, status);
+        if (!approved.isEmpty()) {
+            for (LeaveRequest leave : approved) {
+                monthCache.recordLeave(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate());
+                leaveIndex.recordApproval(leave.getEmployeeId(), leave.getStartDate(), leave.getEndDate());
+            }
+            summaryService.recordLeavesApproved(approved);
+        }
+        return results;
+    }
+
+    public record LeaveDecisionResult(Long id, String outcome, LeaveStatus status) {}
+
+    /**
+     * The per-employee lock makes check-then-insert atomic: a concurrent request for the same employee waits
+     * here until this transaction commits, then its check sees the committed row.
+     */
+    private void lockAndCheckOverlap(Long employeeId, LocalDate start, LocalDate end, Long excludeId) {
+        leaveRequestRepository.lockEmployee(employeeId);
+
+        List<LeaveRequest> overlappingLeaves = leaveRequestRepository
+                .findByEmployeeIdAndStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(
+                        employeeId,
+                        Arrays.asList(LeaveStatus.APPROVED, LeaveStatus.PENDING),
+                        end,
+                        start
+                );
+
+        if (overlappingLeaves.stream().anyMatch(l -> !l.getId().equals(excludeId))) {
+            throw new IllegalArgumentException("Overlapping leave request already exists.");
+        }
+    }
 }
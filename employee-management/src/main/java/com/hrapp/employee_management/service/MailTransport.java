@@ -0,0 +1,18 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.model.OutboundEmail;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers outbox rows. Selected with {@code app.mail.transport}: {@code smtp} (default) or {@code memory},
+ * which records messages instead of sending them, for load tests without a mail server.
+ */
+public interface MailTransport {
+
+    /** Sends the batch, over one connection where the transport supports it; returns failures by outbox id. */
+    Map<Long, Exception> send(List<OutboundEmail> batch);
+
+    Map<String, Object> getStats();
+}
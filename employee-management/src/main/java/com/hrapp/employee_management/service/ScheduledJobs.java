@@ -0,0 +1,61 @@
+package com.hrapp.employee_management.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Cron triggers for the jobs that write to the database. They live apart from the services so that each call
+ * goes through the service's proxy and runs in that method's own {@code @Transactional}; a scheduled method
+ * calling its own class would bypass the proxy. Failures are logged and the next run tries again.
+ */
+@Slf4j
+@Component
+public class ScheduledJobs {
+
+    private final AttendanceDayCloseService dayCloseService;
+    private final LeaveLedgerService ledgerService;
+    private final HrDigestService hrDigestService;
+
+    public ScheduledJobs(AttendanceDayCloseService dayCloseService,
+                         LeaveLedgerService ledgerService,
+                         HrDigestService hrDigestService) {
+        this.dayCloseService = dayCloseService;
+        this.ledgerService = ledgerService;
+        this.hrDigestService = hrDigestService;
+    }
+
+    // Closes yesterday; a missed night can be filled in through the admin endpoint
+    @Scheduled(cron = "${app.attendance.day-close.cron:0 5 0 * * *}")
+    public void closeYesterday() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        try {
+            int rows = dayCloseService.closeDays(yesterday, yesterday);
+            log.info("✅ Attendance day close for {}: {} rows written", yesterday, rows);
+        } catch (Exception e) {
+            log.error("❌ Attendance day close for {} failed: {}", yesterday, e.getMessage(), e);
+        }
+    }
+
+    // Runs at the start of each month
+    @Scheduled(cron = "${app.leave.accrual.cron:0 15 0 1 * *}")
+    public void accrueCurrentMonth() {
+        try {
+            ledgerService.accrue(YearMonth.now());
+        } catch (Exception e) {
+            log.error("❌ Leave accrual failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${app.notifications.hr-digest.cron:0 0 8 * * *}")
+    public void sendDailyDigest() {
+        try {
+            hrDigestService.sendDigest();
+        } catch (Exception e) {
+            log.error("❌ HR digest failed: {}", e.getMessage(), e);
+        }
+    }
+}
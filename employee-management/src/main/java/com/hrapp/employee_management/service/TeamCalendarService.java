@@ -0,0 +1,106 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.dto.TeamCalendar;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.model.LeaveRequest.LeaveStatus;
+import com.hrapp.employee_management.repository.LeaveRequestRepository;
+import com.hrapp.employee_management.repository.UserRepository;
+import com.hrapp.employee_management.repository.UserSummaryView;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class TeamCalendarService {
+
+    public static final int MAX_CALENDAR_DAYS = 366;
+
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final UserRepository userRepository;
+
+    public TeamCalendarService(LeaveRequestRepository leaveRequestRepository, UserRepository userRepository) {
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Only leaves overlapping [from, to] are read. Each one becomes a start and an end event; one sorted pass
+     * over the events yields the runs of days with a constant set of people off, so the work is
+     * O(k log k + days) for k leaves instead of days x employees.
+     */
+    public TeamCalendar getCalendar(LocalDate from, LocalDate to, boolean includePending) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_CALENDAR_DAYS) {
+            throw new IllegalArgumentException("At most " + MAX_CALENDAR_DAYS + " days per calendar.");
+        }
+
+        List<LeaveStatus> statuses = includePending
+                ? List.of(LeaveStatus.APPROVED, LeaveStatus.PENDING)
+                : List.of(LeaveStatus.APPROVED);
+        List<LeaveRequest> leaves = leaveRequestRepository
+                .findByStatusInAndStartDateLessThanEqualAndEndDateGreaterThanEqual(statuses, to, from);
+
+        Map<Long, String> names = new HashMap<>();
+        if (!leaves.isEmpty()) {
+            Set<Long> employeeIds = leaves.stream().map(LeaveRequest::getEmployeeId).collect(Collectors.toSet());
+            for (UserSummaryView user : userRepository.findSummariesByIdIn(employeeIds)) {
+                names.put(user.getId(), user.getName());
+            }
+        }
+
+        // Day offsets relative to 'from', clipped to the window; an interval ends the day after its last day
+        List<long[]> events = new ArrayList<>(leaves.size() * 2);
+        for (int i = 0; i < leaves.size(); i++) {
+            LeaveRequest leave = leaves.get(i);
+            long start = Math.max(0, ChronoUnit.DAYS.between(from, leave.getStartDate()));
+            long end = Math.min(days, ChronoUnit.DAYS.between(from, leave.getEndDate()) + 1);
+            events.add(new long[]{start, i, 1});
+            events.add(new long[]{end, i, -1});
+        }
+        events.sort(Comparator.comparingLong((long[] event) -> event[0]));
+
+        int[] counts = new int[days];
+        List<TeamCalendar.Segment> segments = new ArrayList<>();
+        Map<Integer, LeaveRequest> active = new LinkedHashMap<>();
+        int e = 0;
+        while (e < events.size()) {
+            long day = events.get(e)[0];
+            for (; e < events.size() && events.get(e)[0] == day; e++) {
+                int index = (int) events.get(e)[1];
+                if (events.get(e)[2] > 0) active.put(index, leaves.get(index));
+                else active.remove(index);
+            }
+            long next = e < events.size() ? events.get(e)[0] : days;
+            if (active.isEmpty() || day >= next) continue;
+
+            for (long d = day; d < next; d++) counts[(int) d] = active.size();
+            segments.add(new TeamCalendar.Segment(from.plusDays(day), from.plusDays(next - 1),
+                    absences(active.values(), names)));
+        }
+        return new TeamCalendar(from, to, counts, segments);
+    }
+
+    private static List<TeamCalendar.Absence> absences(Iterable<LeaveRequest> leaves, Map<Long, String> names) {
+        List<TeamCalendar.Absence> absent = new ArrayList<>();
+        for (LeaveRequest leave : leaves) {
+            absent.add(new TeamCalendar.Absence(leave.getEmployeeId(),
+                    names.getOrDefault(leave.getEmployeeId(), leave.getEmployeeUsername()),
+                    leave.getId(), leave.getLeaveType(), leave.getStatus()));
+        }
+        absent.sort(Comparator.comparing(TeamCalendar.Absence::employeeName,
+                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return absent;
+    }
+}
@@ -1,9 +1,12 @@
 package com.hrapp.employee_management.service;
 
+import com.hrapp.employee_management.config.UserSearchIndexInitializer;
 import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.model.UserStatus;
 import com.hrapp.employee_management.repository.AttendanceRepository;
+import com.hrapp.employee_management.repository.UserGridView;
 import com.hrapp.employee_management.repository.UserRepository;
+import com.hrapp.employee_management.security.TokenRevocationRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,13 +21,31 @@ public class UserService {
     private final UserRepository userRepository;
     private final AttendanceRepository attendanceRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final AttendanceMonthCache monthCache;
+    private final AttendanceSummaryService summaryService;
+    private final LeaveLedgerService ledgerService;
+    private final UserSearchIndexInitializer searchIndexes;
+    private final CustomUserDetailsService userDetailsService;
+    private final TokenRevocationRegistry revocations;
 
     public UserService(UserRepository userRepository,
                        AttendanceRepository attendanceRepository,
-                       BCryptPasswordEncoder passwordEncoder) {
+                       BCryptPasswordEncoder passwordEncoder,
+                       AttendanceMonthCache monthCache,
+                       AttendanceSummaryService summaryService,
+                       LeaveLedgerService ledgerService,
+                       UserSearchIndexInitializer searchIndexes,
+                       CustomUserDetailsService userDetailsService,
+                       TokenRevocationRegistry revocations) {
         this.userRepository = userRepository;
         this.attendanceRepository = attendanceRepository;
         this.passwordEncoder = passwordEncoder;
+        this.monthCache = monthCache;
+        this.summaryService = summaryService;
+        this.ledgerService = ledgerService;
+        this.searchIndexes = searchIndexes;
+        this.userDetailsService = userDetailsService;
+        this.revocations = revocations;
     }
 
     // ---------------- EXISTING METHODS (UNCHANGED) ----------------
@@ -56,13 +77,17 @@ public class UserService {
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsService.evict(saved.getEmail());
+        return saved;
     }
 
     public void updateStatus(Long userId, UserStatus status) {
         User user = findById(userId);
         user.setStatus(status);
         userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
+        revocations.revoke(userId);
     }
 
     public User findByEmail(String email) {
@@ -80,6 +105,29 @@ public class UserService {
         return userRepository.findByRoleOrderByStatusAscNameAsc("EMPLOYEE");
     }
 
+    // ---------------- SEARCH ----------------
+
+    public static final int MAX_SEARCH_RESULTS = 50;
+    // Shorter queries have too few trigrams to rank, so they are matched by prefix only
+    private static final int MIN_FUZZY_QUERY_LENGTH = 3;
+
+    /** Top {@code limit} users by name/email: prefix matches first, then (if available) trigram matches. */
+    public List<UserGridView> searchUsers(String query, int limit) {
+        String q = query == null ? "" : query.trim().toLowerCase();
+        if (q.isEmpty()) {
+            throw new IllegalArgumentException("Search query must not be empty.");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new IllegalArgumentException("'limit' must be between 1 and " + MAX_SEARCH_RESULTS + ".");
+        }
+
+        String prefix = q.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        if (searchIndexes.isTrigramAvailable() && q.length() >= MIN_FUZZY_QUERY_LENGTH) {
+            return userRepository.searchFuzzy(q, prefix, limit);
+        }
+        return userRepository.searchByPrefix(prefix, limit);
+    }
+
     // ---------------- DELETE LOGIC (NEW & PROTECTED) ----------------
 
     @Transactional
@@ -95,8 +143,13 @@ public class UserService {
 
         // ✅ Delete attendance first
         attendanceRepository.deleteByEmployeeId(userId);
+        summaryService.deleteEmployee(userId);
+        ledgerService.deleteEmployee(userId);
 
         // ✅ Delete user
         userRepository.delete(user);
+        monthCache.evictEmployee(userId);
+        userDetailsService.evict(user.getEmail());
+        revocations.revoke(userId);
     }
 }
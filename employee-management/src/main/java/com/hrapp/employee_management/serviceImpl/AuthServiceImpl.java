@@ -5,7 +5,10 @@ import com.hrapp.employee_management.exception.UserNotFoundException;
 import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.repository.UserRepository;
 import com.hrapp.employee_management.security.JwtUtils;
+import com.hrapp.employee_management.security.TokenRevocationRegistry;
 import com.hrapp.employee_management.service.AuthService;
+import com.hrapp.employee_management.service.CustomUserDetailsService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -31,6 +34,12 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private TokenRevocationRegistry revocations;
+
     @Value("${app.admin.email}")
     private String adminEmail;
 
@@ -43,17 +52,21 @@ public class AuthServiceImpl implements AuthService {
     public void resetPassword(String token, String newPassword) {
         log.info("🔑 Processing password reset token.");
 
-        if (!jwtUtils.validateToken(token)) {
+        String email;
+        try {
+            email = jwtUtils.getVerifiedClaims(token).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
             log.warn("❌ Invalid or expired password reset token.");
             throw new InvalidTokenException("Invalid or expired token.");
         }
 
-        String email = jwtUtils.getUsernameFromToken(token);
         User user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found for email: " + email));
 
         user.setPassword(passwordEncoder.encode(newPassword));
         userRepo.save(user);
+        userDetailsService.evict(email);
+        revocations.revoke(user.getId());
         log.info("✅ Password updated successfully for {}", email);
     }
 
@@ -72,17 +85,19 @@ public class AuthServiceImpl implements AuthService {
     public String refreshAccessToken(HttpServletRequest request, HttpServletResponse response) {
         String refreshToken = extractRefreshTokenFromCookies(request);
 
-        if (refreshToken == null || !jwtUtils.validateToken(refreshToken)) {
+        String email;
+        try {
+            email = jwtUtils.getVerifiedClaims(refreshToken).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
             log.warn("Invalid or expired refresh token detected.");
             throw new InvalidTokenException("Invalid or expired refresh token");
         }
 
-        String email = jwtUtils.getUsernameFromToken(refreshToken);
         User user = userRepo.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("User not found for email: " + email));
 
         List<String> roles = List.of(user.getRole());
-        String newAccessToken = jwtUtils.generateAccessToken(email, roles);
+        String newAccessToken = jwtUtils.generateAccessToken(user.getId(), email, user.getName(), roles);
 
         log.info("🔄 New access token generated for {}", email);
         return newAccessToken;
@@ -1,29 +1,37 @@
 package com.hrapp.employee_management.serviceImpl;
 
+import com.hrapp.employee_management.dto.HrDigest;
 import com.hrapp.employee_management.exception.EmailSendFailureException;
 import com.hrapp.employee_management.exception.UserNotFoundException;
 import com.hrapp.employee_management.model.User;
 import com.hrapp.employee_management.repository.UserRepository;
 import com.hrapp.employee_management.security.JwtUtils;
+import com.hrapp.employee_management.service.EmailOutboxService;
 import com.hrapp.employee_management.service.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.hrapp.employee_management.service.EmailTemplateService;
+import com.hrapp.employee_management.service.EmailTemplateService.RenderedEmail;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class EmailServiceImpl implements EmailService {
 
+    // Mail is queued and delivered in the background, so SMTP latency or outages never fail the caller
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxService outbox;
+
+    private static final DateTimeFormatter DIGEST_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private EmailTemplateService templates;
 
     @Autowired
     private UserRepository userRepo;
@@ -31,32 +39,20 @@ public class EmailServiceImpl implements EmailService {
     @Autowired
     private JwtUtils jwtUtils;
 
-    @Value("${app.admin.email}")
-    private String adminEmail;
-
     @Override
     public void sendWelcomeEmail(String name, String toEmail, String role, String tempPassword) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        String loginUrl = "http://localhost:4200/";
-        message.setFrom(adminEmail);
-        message.setTo(toEmail);
-        message.setSubject("\uD83C\uDF89 Welcome to Java Organization!");
-        message.setText(
-                "Hello " + name + ",\n\n" +
-                        "Congratulations! You have been appointed as a " + role + " at Java Organization.\n" +
-                        "Your temporary login password is: " + tempPassword + "\n" +
-                        "You can log in using your registered email and this temporary password " + loginUrl + "\n\n" +
-                        "Welcome aboard! — we’re excited to have you with us!\n\n" +
-                        "Best regards,\n" +
-                        "Arul Kumaran\n" +
-                        "Admin"
-        );
-
         try {
-            mailSender.send(message);
-            log.info("🎉 Welcome email sent successfully to '{}'", name);
+            // Sent on someone else's behalf (admin or startup), so the configured default locale applies
+            RenderedEmail mail = templates.render("welcome", templates.getDefaultLocale(), Map.of(
+                    "name", name,
+                    "role", role,
+                    "tempPassword", tempPassword,
+                    "loginUrl", templates.url("/")
+            ));
+            outbox.enqueue(toEmail, mail.subject(), mail.body(), mail.html());
+            log.info("🎉 Welcome email queued for '{}'", name);
         } catch (Exception e) {
-            log.error("❌ Failed to send welcome email to '{}': {}", name, e.getMessage(), e);
+            log.error("❌ Failed to queue welcome email for '{}': {}", name, e.getMessage(), e);
             throw new EmailSendFailureException("Failed to send welcome email");
         }
     }
@@ -69,34 +65,46 @@ public class EmailServiceImpl implements EmailService {
         User user = optionalUser.orElseThrow(() -> new UserNotFoundException("No user found with this email."));
 
         String token = jwtUtils.generatePasswordResetToken(user.getEmail());
-        String resetLink = "http://localhost:4200/reset-password?token=" + token;
+        String resetLink = templates.url("/reset-password?token=" + token);
 
         try {
-            sendEmail(email, buildResetEmail(user.getName(), resetLink));
-            log.info("📧 Password reset email sent successfully to {}", email);
+            // The requester is the account owner, so their Accept-Language picks the variant
+            RenderedEmail mail = templates.render("password-reset", LocaleContextHolder.getLocale(), Map.of(
+                    "name", user.getName(),
+                    "resetLink", resetLink
+            ));
+            outbox.enqueue(email, mail.subject(), mail.body(), mail.html());
+            log.info("📧 Password reset email queued for {}", email);
         } catch (Exception e) {
-            log.error("❌ Failed to send password reset email to {}: {}", email, e.getMessage(), e);
+            log.error("❌ Failed to queue password reset email for {}: {}", email, e.getMessage(), e);
             throw new EmailSendFailureException("Failed to send password reset email");
         }
     }
 
-    private void sendEmail(String to, String htmlContent) throws MessagingException {
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
-
-        helper.setTo(to);
-        helper.setSubject("🔒 Password Reset Link");
-        helper.setText(htmlContent, true);
-        helper.setFrom(adminEmail);
-
-        mailSender.send(message);
-    }
-
-    private String buildResetEmail(String name, String link) {
-        return "<p>Hi " + name + ",</p>" +
-                "<p>You requested to reset your password.</p>" +
-                "<p>Click the link below to reset it:</p>" +
-                "<a href=\"" + link + "\">Reset Password</a>" +
-                "<br/><br/><p>This link will expire in 15 minutes. If you didn’t request this, you can ignore this email.</p>";
+    @Override
+    public void sendHrDigest(String name, String toEmail, HrDigest digest) {
+        String byType = digest.newPendingByType().isEmpty() ? "none"
+                : digest.newPendingByType().entrySet().stream()
+                        .map(e -> e.getKey() + " " + e.getValue())
+                        .collect(Collectors.joining(", "));
+        try {
+            RenderedEmail mail = templates.render("hr-digest", templates.getDefaultLocale(), Map.ofEntries(
+                    Map.entry("name", name),
+                    Map.entry("from", DIGEST_TIME.format(digest.from())),
+                    Map.entry("to", DIGEST_TIME.format(digest.to())),
+                    Map.entry("newPending", String.valueOf(digest.newPending())),
+                    Map.entry("newPendingByType", byType),
+                    Map.entry("openPending", String.valueOf(digest.openPending())),
+                    Map.entry("anomalies", String.valueOf(digest.absent() + digest.notMarked())),
+                    Map.entry("absent", String.valueOf(digest.absent())),
+                    Map.entry("notMarked", String.valueOf(digest.notMarked())),
+                    Map.entry("employeesWithAnomalies", String.valueOf(digest.employeesWithAnomalies())),
+                    Map.entry("loginUrl", templates.url("/"))
+            ));
+            outbox.enqueue(toEmail, mail.subject(), mail.body(), mail.html());
+        } catch (Exception e) {
+            log.error("❌ Failed to queue HR digest for {}: {}", toEmail, e.getMessage(), e);
+            throw new EmailSendFailureException("Failed to send HR digest");
+        }
     }
 }
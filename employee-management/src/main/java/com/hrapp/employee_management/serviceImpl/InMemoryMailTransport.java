@@ -0,0 +1,77 @@
+package com.hrapp.employee_management.serviceImpl;
+
+import com.hrapp.employee_management.model.OutboundEmail;
+import com.hrapp.employee_management.service.MailTransport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records messages in memory instead of sending them. An optional per-batch latency stands in for the SMTP
+ * round trip, so the outbox can be load-tested without a mail server.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.mail.transport", havingValue = "memory")
+public class InMemoryMailTransport implements MailTransport {
+
+    public record SentMail(Long outboxId, String recipient, String subject, String body, boolean html) {}
+
+    private final ConcurrentLinkedDeque<SentMail> recent = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger recentSize = new AtomicInteger();
+    private final int retained;
+    private final long latencyMs;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public InMemoryMailTransport(@Value("${app.mail.memory.retained:1000}") int retained,
+                                 @Value("${app.mail.memory.latency-ms:0}") long latencyMs) {
+        this.retained = retained;
+        this.latencyMs = latencyMs;
+        log.warn("⚠️ In-memory mail transport active: emails are recorded, not sent");
+    }
+
+    @Override
+    public Map<Long, Exception> send(List<OutboundEmail> batch) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Map<Long, Exception> failures = new HashMap<>();
+                batch.forEach(email -> failures.put(email.getId(), e));
+                return failures;
+            }
+        }
+        for (OutboundEmail email : batch) {
+            recent.addLast(new SentMail(email.getId(), email.getRecipient(), email.getSubject(),
+                    email.getBody(), email.isHtml()));
+            if (recentSize.incrementAndGet() > retained && recent.pollFirst() != null) {
+                recentSize.decrementAndGet();
+            }
+        }
+        sent.add(batch.size());
+        batches.increment();
+        return Map.of();
+    }
+
+    /** Most recent messages, oldest first. */
+    public List<SentMail> getRecent() {
+        return new ArrayList<>(recent);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        return Map.of("transport", "memory", "sent", sent.sum(), "batches", batches.sum(),
+                "retained", recentSize.get());
+    }
+}
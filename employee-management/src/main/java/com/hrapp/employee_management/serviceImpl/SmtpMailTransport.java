@@ -0,0 +1,87 @@
+package com.hrapp.employee_management.serviceImpl;
+
+import com.hrapp.employee_management.model.OutboundEmail;
+import com.hrapp.employee_management.service.MailTransport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "app.mail.transport", havingValue = "smtp", matchIfMissing = true)
+public class SmtpMailTransport implements MailTransport {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public SmtpMailTransport(JavaMailSender mailSender,
+                             @Value("${app.mail.from:${app.admin.email}}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    /** JavaMailSender sends an array of messages over a single SMTP connection. */
+    @Override
+    public Map<Long, Exception> send(List<OutboundEmail> batch) {
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (OutboundEmail email : batch) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
+                helper.setFrom(from);
+                helper.setTo(email.getRecipient());
+                helper.setSubject(email.getSubject());
+                helper.setText(email.getBody(), email.isHtml());
+                messages.add(message);
+                ids.put(message, email.getId());
+            } catch (Exception e) {
+                failures.put(email.getId(), e);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            batches.increment();
+            try {
+                mailSender.send(messages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    ids.values().forEach(id -> failures.put(id, e));
+                } else {
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        Long id = ids.get(message);
+                        if (id != null) failures.put(id, cause);
+                    });
+                }
+            } catch (Exception e) {
+                // Connection or authentication failure: nothing in the batch went out
+                ids.values().forEach(id -> failures.put(id, e));
+            }
+        }
+
+        failed.add(failures.size());
+        sent.add(batch.size() - failures.size());
+        return failures;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        return Map.of("transport", "smtp", "sent", sent.sum(), "failed", failed.sum(), "batches", batches.sum());
+    }
+}
@@ -0,0 +1,71 @@
+package com.hrapp.employee_management.benchmark;
+
+import com.hrapp.employee_management.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token handling in the JWT filter.
+ * <ul>
+ *   <li>{@code threeParsesNewParser}: the original filter, validating and then reading subject and roles with
+ *       a freshly built parser each time (three HMAC verifications, three parser builds).</li>
+ *   <li>{@code threeParsesSharedParser}: the same three calls on the shared parser in {@link JwtUtils}.</li>
+ *   <li>{@code singleParse}: {@link JwtUtils#getVerifiedClaims} once, subject and roles read from the result.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtParseBenchmark {
+
+    private Key key;
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+        jwtUtils = new JwtUtils(Encoders.BASE64.encode(key.getEncoded()));
+        token = jwtUtils.generateAccessToken(42L, "employee@example.com", "Employee", List.of("ROLE_EMPLOYEE"));
+    }
+
+    @Benchmark
+    public void threeParsesNewParser(Blackhole bh) {
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token));
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().getSubject());
+        bh.consume(Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody().get("roles"));
+    }
+
+    @Benchmark
+    public void threeParsesSharedParser(Blackhole bh) {
+        bh.consume(jwtUtils.validateToken(token));
+        bh.consume(jwtUtils.getUsernameFromToken(token));
+        bh.consume(jwtUtils.getRolesFromToken(token));
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole bh) {
+        Claims claims = jwtUtils.getVerifiedClaims(token);
+        bh.consume(claims.getSubject());
+        bh.consume(JwtUtils.getRoles(claims));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtParseBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package com.hrapp.employee_management.benchmark;
+
+import com.hrapp.employee_management.model.AttendanceStatus;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.service.LeaveIntervals;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One employee's month read: which of the 31 days are covered by approved leave.
+ * <ul>
+ *   <li>{@code expansionLoop}: the original read path, expanding every leave day by day into a map.</li>
+ *   <li>{@code intervalIndex}: {@link LeaveIntervals} as held by {@code ApprovedLeaveIndex} (built once, then cached).</li>
+ *   <li>{@code intervalIndexBuildAndLookup}: the same including the build, i.e. a cold cache entry.</li>
+ * </ul>
+ * {@code leaveDays} is the length of each leave; 180 models the multi-month sabbatical case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveCoverageBenchmark {
+
+    @Param({"4", "40"})
+    public int leaves;
+
+    @Param({"5", "180"})
+    public int leaveDays;
+
+    private List<LeaveRequest> approved;
+    private LeaveIntervals index;
+    private LocalDate monthStart;
+
+    @Setup
+    public void setUp() {
+        monthStart = LocalDate.of(2025, 6, 1);
+        approved = new ArrayList<>(leaves);
+        // Spread over the two years around the month, with one leave always crossing it
+        LocalDate first = monthStart.minusYears(1);
+        for (int i = 0; i < leaves; i++) {
+            LocalDate start = i == 0 ? monthStart.minusDays(leaveDays / 2) : first.plusDays(i * 730L / leaves);
+            LeaveRequest leave = new LeaveRequest();
+            leave.setStartDate(start);
+            leave.setEndDate(start.plusDays(leaveDays - 1L));
+            leave.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+            approved.add(leave);
+        }
+        index = LeaveIntervals.of(approved);
+    }
+
+    @Benchmark
+    public void expansionLoop(Blackhole bh) {
+        Map<LocalDate, AttendanceStatus> records = new HashMap<>();
+        for (LeaveRequest leave : approved) {
+            LocalDate d = leave.getStartDate();
+            while (!d.isAfter(leave.getEndDate())) {
+                records.put(d, AttendanceStatus.LEAVE);
+                d = d.plusDays(1);
+            }
+        }
+        for (int day = 0; day < 31; day++) {
+            bh.consume(records.get(monthStart.plusDays(day)));
+        }
+    }
+
+    @Benchmark
+    public void intervalIndex(Blackhole bh) {
+        for (int day = 0; day < 31; day++) {
+            bh.consume(index.covers(monthStart.plusDays(day)));
+        }
+    }
+
+    @Benchmark
+    public void intervalIndexBuildAndLookup(Blackhole bh) {
+        LeaveIntervals built = LeaveIntervals.of(approved);
+        for (int day = 0; day < 31; day++) {
+            bh.consume(built.covers(monthStart.plusDays(day)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LeaveCoverageBenchmark.class.getSimpleName()).build()).run();
+    }
+}
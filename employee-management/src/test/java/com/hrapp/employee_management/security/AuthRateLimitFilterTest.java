@@ -0,0 +1,60 @@
+package com.hrapp.employee_management.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The per-email limit must follow the email the controller actually uses: for JSON requests that is the body,
+ * so a changing {@code ?email=} query parameter must not give the same account a fresh bucket.
+ */
+class AuthRateLimitFilterTest {
+
+    // One login per email per minute, and an IP limit high enough not to interfere
+    private final AuthRateLimitFilter filter = new AuthRateLimitFilter(new AuthRateLimiter(1000, 1, 1000));
+
+    @Test
+    void jsonRequestsAreLimitedByBodyEmailNotQueryParameter() throws Exception {
+        MockHttpServletResponse first = login("decoy-1@example.com", "victim@example.com");
+        assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        MockHttpServletResponse second = login("decoy-2@example.com", "victim@example.com");
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(second.getHeader("Retry-After")).isNotNull();
+    }
+
+    @Test
+    void bodyIsStillReadableDownstream() throws Exception {
+        MockHttpServletRequest request = jsonLogin(null, "someone@example.com");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        byte[] forwarded = chain.getRequest().getInputStream().readAllBytes();
+        assertThat(new String(forwarded, StandardCharsets.UTF_8)).contains("someone@example.com");
+    }
+
+    private MockHttpServletResponse login(String queryEmail, String bodyEmail) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(jsonLogin(queryEmail, bodyEmail), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest jsonLogin(String queryEmail, String bodyEmail) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr("203.0.113.7");
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(("{\"email\":\"" + bodyEmail + "\",\"password\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+        if (queryEmail != null) {
+            request.setParameter("email", queryEmail);
+        }
+        return request;
+    }
+}
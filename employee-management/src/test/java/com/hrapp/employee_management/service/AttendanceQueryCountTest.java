@@ -0,0 +1,118 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.AbstractPostgresJpaTest;
+import com.hrapp.employee_management.config.AttendanceSequenceInitializer;
+import com.hrapp.employee_management.dto.AttendanceDay;
+import com.hrapp.employee_management.model.Attendance;
+import com.hrapp.employee_management.model.AttendanceStatus;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.model.User;
+import com.hrapp.employee_management.model.UserStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the set-based read path: the number of statements must not grow with the number of employees.
+ * The context is rebuilt per test so the month cache always starts cold.
+ */
+@Import({AttendanceService.class, AttendanceMonthCache.class, ApprovedLeaveIndex.class, AttendanceSummaryService.class,
+        AttendanceSequenceInitializer.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_EACH_TEST_METHOD)
+class AttendanceQueryCountTest extends AbstractPostgresJpaTest {
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void allAttendanceRunsThreeQueriesForAnyNumberOfEmployees() {
+        LocalDate today = LocalDate.now();
+        int employees = 40;
+        for (int i = 0; i < employees; i++) {
+            User employee = employee("employee" + i);
+            attendance(employee, today, i % 2 == 0 ? AttendanceStatus.PRESENT : AttendanceStatus.ABSENT);
+            if (i % 5 == 0) approvedLeave(employee, today, today);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        List<AttendanceDay> days = attendanceService.getAllAttendance();
+
+        // users + month's attendance + month's approved leaves
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(days).hasSize(employees * today.getDayOfMonth());
+        assertThat(days).filteredOn(d -> d.date().equals(today) && d.status() == AttendanceStatus.LEAVE)
+                .hasSize(employees / 5);
+
+        statistics.clear();
+        attendanceService.getAllAttendance();
+
+        // Warm month: only the user list is read
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void markAttendanceIsOneInsertPlusOneSummaryUpsert() {
+        User employee = employee("marker");
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        attendanceService.markAttendance(employee, LocalDate.now(), AttendanceStatus.PRESENT);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private User employee(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("x");
+        user.setRole("EMPLOYEE");
+        user.setStatus(UserStatus.ACTIVE);
+        return entityManager.persist(user);
+    }
+
+    private void attendance(User employee, LocalDate date, AttendanceStatus status) {
+        Attendance attendance = new Attendance();
+        attendance.setEmployee(employee);
+        attendance.setDate(date);
+        attendance.setStatus(status);
+        entityManager.persist(attendance);
+    }
+
+    private void approvedLeave(User employee, LocalDate start, LocalDate end) {
+        LeaveRequest leave = new LeaveRequest();
+        leave.setEmployeeId(employee.getId());
+        leave.setEmployeeUsername(employee.getEmail());
+        leave.setStartDate(start);
+        leave.setEndDate(end);
+        leave.setStatus(LeaveRequest.LeaveStatus.APPROVED);
+        entityManager.persist(leave);
+    }
+}
@@ -0,0 +1,75 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.AbstractPostgresJpaTest;
+import com.hrapp.employee_management.model.LeaveBalance;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.model.LeaveRequest.LeaveStatus;
+import com.hrapp.employee_management.model.LeaveType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Requests made before the ledger existed must be seeded so that deciding or reversing them later moves the
+ * balance exactly as it would have, and the seeding must never run twice.
+ */
+@Import(LeaveLedgerService.class)
+class LeaveLedgerBackfillTest extends AbstractPostgresJpaTest {
+
+    private static final long EMPLOYEE_ID = 42L;
+
+    @Autowired
+    private LeaveLedgerService ledgerService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void seedsConsumptionAndReservationsOnce() {
+        LocalDate start = LocalDate.now().plusDays(7);
+        LeaveRequest approved = leave(start, start.plusDays(2), LeaveStatus.APPROVED, LeaveType.ANNUAL);
+        LeaveRequest pending = leave(start.plusDays(10), start.plusDays(11), LeaveStatus.PENDING, LeaveType.ANNUAL);
+        leave(start.plusDays(20), start.plusDays(29), LeaveStatus.PENDING, LeaveType.UNPAID);
+        leave(start.plusDays(40), start.plusDays(40), LeaveStatus.REJECTED, LeaveType.ANNUAL);
+        entityManager.flush();
+
+        assertThat(ledgerService.backfillFromHistory()).isTrue();
+        assertThat(ledgerService.backfillFromHistory()).isFalse();
+        entityManager.clear();
+
+        // 5 days opened, 3 consumed by the approved leave, 2 reserved by the pending one
+        LeaveBalance annual = ledgerService.getBalances(EMPLOYEE_ID).get(0);
+        assertThat(annual.getLeaveType()).isEqualTo(LeaveType.ANNUAL);
+        assertThat(annual.getBalanceDays()).isEqualTo(2);
+        assertThat(annual.getPendingDays()).isEqualTo(2);
+        assertThat(ledgerService.getBalances(EMPLOYEE_ID)).hasSize(1);
+        assertThat(ledgerService.getLedger(EMPLOYEE_ID)).hasSize(2);
+
+        // Approving the old pending request uses its reservation instead of going negative
+        ledgerService.recordTransition(pending, LeaveStatus.PENDING, LeaveStatus.APPROVED);
+        // Reversing the old approved request gives back exactly what it consumed
+        ledgerService.recordTransition(approved, LeaveStatus.APPROVED, LeaveStatus.REJECTED);
+        entityManager.flush();
+        entityManager.clear();
+
+        LeaveBalance after = ledgerService.getBalances(EMPLOYEE_ID).get(0);
+        assertThat(after.getBalanceDays()).isEqualTo(3);
+        assertThat(after.getPendingDays()).isZero();
+    }
+
+    private LeaveRequest leave(LocalDate start, LocalDate end, LeaveStatus status, LeaveType type) {
+        LeaveRequest leave = new LeaveRequest();
+        leave.setEmployeeId(EMPLOYEE_ID);
+        leave.setEmployeeUsername("history@example.com");
+        leave.setStartDate(start);
+        leave.setEndDate(end);
+        leave.setStatus(status);
+        leave.setLeaveType(type);
+        return entityManager.persist(leave);
+    }
+}
@@ -0,0 +1,103 @@
+package com.hrapp.employee_management.service;
+
+import com.hrapp.employee_management.AbstractPostgresJpaTest;
+import com.hrapp.employee_management.model.LeaveRequest;
+import com.hrapp.employee_management.model.LeaveType;
+import com.hrapp.employee_management.repository.LeaveRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent applications for overlapping days must be serialized by the per-employee advisory lock, so exactly
+ * one of them is stored. Each call commits on its own, hence no test-managed transaction.
+ */
+@Import({LeaveRequestService.class, LeaveLedgerService.class, AttendanceMonthCache.class, ApprovedLeaveIndex.class,
+        AttendanceSummaryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LeaveOverlapConcurrencyTest extends AbstractPostgresJpaTest {
+
+    private static final int THREADS = 8;
+    // Beyond the int range, which the lock key used to be cast to
+    private static final long EMPLOYEE_ID = 3_000_000_000L;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @AfterEach
+    void cleanUp() {
+        leaveRequestRepository.deleteAll();
+    }
+
+    @Test
+    void exactlyOneOfManyOverlappingApplicationsIsAccepted() throws Exception {
+        LocalDate start = LocalDate.now().plusDays(10);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<LeaveRequest>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                // Every range shares start + THREADS with all the others
+                LeaveRequest leave = leave(start.plusDays(i), start.plusDays(THREADS + i));
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    go.await();
+                    return leaveRequestService.applyLeave(leave);
+                }));
+            }
+            ready.await(10, TimeUnit.SECONDS);
+            go.countDown();
+
+            int accepted = 0;
+            int rejected = 0;
+            for (Future<LeaveRequest> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    accepted++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageContaining("Overlapping");
+                    rejected++;
+                }
+            }
+
+            assertThat(accepted).isEqualTo(1);
+            assertThat(rejected).isEqualTo(THREADS - 1);
+            assertThat(leaveRequestRepository.findAll())
+                    .filteredOn(l -> l.getEmployeeId() == EMPLOYEE_ID)
+                    .hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LeaveRequest leave(LocalDate start, LocalDate end) {
+        LeaveRequest leave = new LeaveRequest();
+        leave.setEmployeeId(EMPLOYEE_ID);
+        leave.setEmployeeUsername("overlap@example.com");
+        leave.setStartDate(start);
+        leave.setEndDate(end);
+        leave.setLeaveType(LeaveType.UNPAID);
+        leave.setReason("Concurrent request");
+        return leave;
+    }
+}